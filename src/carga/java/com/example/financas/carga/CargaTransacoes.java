@@ -0,0 +1,477 @@
+package com.example.financas.carga;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Teste de carga HTTP contra uma instância já no ar, com autenticação JWT e
+ * latência medida por endpoint. Serve para comparar o modo padrão com o
+ * perfil "virtual" sob a mesma carga:
+ *
+ * <pre>
+ * ./gradlew bootRun --args='--banco.latencia-simulada=PT0.02S'
+ * ./gradlew carga -Pcarga.concorrencia=400 -Pcarga.rotulo=plataforma
+ *
+ * ./gradlew bootRun -PjavaVersion=21 --args='--spring.profiles.active=virtual --banco.latencia-simulada=PT0.02S'
+ * ./gradlew carga -Pcarga.concorrencia=400 -Pcarga.rotulo=virtual
+ * </pre>
+ *
+ * Sem o parâmetro 'usuarios', usa um único usuário e cria algumas
+ * transações por HTTP antes de medir. Com 'usuarios', entra com os usuários
+ * gerados pelo perfil "carga" da aplicação (carga-0000, carga-0001...), e
+ * cada cliente é atribuído a um deles com a mesma distribuição de Zipf da
+ * massa, de modo que os usuários com mais dados também recebem mais
+ * requisições:
+ *
+ * <pre>
+ * ./gradlew bootRun -PheapCarga=4g --args='--spring.profiles.active=carga'
+ * ./gradlew carga -Pcarga.usuarios=100 -Pcarga.concorrencia=200
+ * </pre>
+ *
+ * Cada cliente é um laço fechado (envia, espera a resposta, envia a próxima)
+ * que sorteia a operação com uma semente fixa, então duas execuções com os
+ * mesmos parâmetros geram a mesma mistura de requisições. Só as respostas
+ * depois do aquecimento entram na medição. O resultado de cada execução é
+ * anexado ao CSV de saída, um registro por endpoint.
+ */
+public final class CargaTransacoes {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final int TAMANHO_LOTE = 500;
+    private static final int PESO_LEITURAS = Arrays.stream(Operacao.values())
+            .mapToInt(operacao -> operacao.peso)
+            .sum();
+    private static final String[] TERMOS_BUSCA = { "mercado", "aluguel", "farmacia", "restaurante", "combustivel",
+            "internet", "padaria", "carga" };
+
+    /** Endpoints medidos e o peso de cada um entre as leituras. */
+    enum Operacao {
+        PAGINA("GET /transacoes/pagina", 25),
+        SALDO("GET /transacoes/saldo", 15),
+        DASHBOARD("GET /dashboard", 15),
+        CATEGORIAS("GET /categorias", 10),
+        BUSCA("GET /transacoes/busca", 10),
+        SERIE("GET /transacoes/saldo/serie", 8),
+        RELATORIO("GET /relatorios/mensal", 7),
+        LISTAR("GET /transacoes", 5),
+        SYNC("GET /sync", 5),
+        CRIAR("POST /transacoes", 0);
+
+        final String descricao;
+        final int peso;
+
+        Operacao(String descricao, int peso) {
+            this.descricao = descricao;
+            this.peso = peso;
+        }
+    }
+
+    /** Usuário autenticado e as categorias dele, para as escritas. */
+    record Sessao(String token, long[] categorias) {
+    }
+
+    private final Map<String, String> parametros;
+    private final URI base;
+    private final HttpClient client;
+
+    private CargaTransacoes(Map<String, String> parametros) {
+        this.parametros = parametros;
+        this.base = URI.create(parametro("url", "http://localhost:8080"));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> parametros = new HashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (igual < 0) {
+                throw new IllegalArgumentException("Parâmetro inválido: " + arg + " (use chave=valor)");
+            }
+            parametros.put(arg.substring(0, igual), arg.substring(igual + 1));
+        }
+        new CargaTransacoes(parametros).executar();
+    }
+
+    private void executar() throws Exception {
+        int concorrencia = Integer.parseInt(parametro("concorrencia", "200"));
+        Duration aquecimento = Duration.parse(parametro("aquecimento", "PT10S"));
+        Duration duracao = Duration.parse(parametro("duracao", "PT30S"));
+        double escritas = Double.parseDouble(parametro("escritas", "0.1"));
+        long semente = Long.parseLong(parametro("semente", "42"));
+
+        List<Sessao> sessoes = parametros.containsKey("usuarios") ? entrarComMassaDeCarga() : entrarComUsuarioUnico();
+        double[] pesosSessoes = acumuladoZipf(sessoes.size(), Double.parseDouble(parametro("assimetria", "1.1")));
+
+        System.out.printf("Carga: %d clientes, %d usuários, aquecimento %s, medição %s, %.0f%% escritas%n",
+                concorrencia, sessoes.size(), aquecimento, duracao, escritas * 100);
+
+        long inicioMedicao = System.nanoTime() + aquecimento.toNanos();
+        long fim = inicioMedicao + duracao.toNanos();
+        List<Cliente> clientes = new ArrayList<>();
+        CountDownLatch terminados = new CountDownLatch(concorrencia);
+        for (int i = 0; i < concorrencia; i++) {
+            SplittableRandom aleatorio = new SplittableRandom(semente + i);
+            Sessao sessao = sessoes.get(sortear(aleatorio, pesosSessoes));
+            Cliente cliente = new Cliente(sessao, aleatorio, escritas, inicioMedicao, fim, terminados);
+            clientes.add(cliente);
+            Thread thread = new Thread(cliente, "carga-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        terminados.await();
+
+        relatar(clientes, duracao);
+    }
+
+    private List<Sessao> entrarComUsuarioUnico() throws IOException, InterruptedException {
+        String token = autenticar(parametro("usuario", "teste"), parametro("senha", "teste123"));
+        long categoria = criarCategoria(token);
+        Sessao sessao = new Sessao(token, new long[] { categoria });
+        semear(sessao, Integer.parseInt(parametro("semear", "2000")));
+        return List.of(sessao);
+    }
+
+    private List<Sessao> entrarComMassaDeCarga() throws IOException, InterruptedException {
+        int usuarios = Integer.parseInt(parametro("usuarios", "100"));
+        String prefixo = parametro("prefixo", "carga-");
+        String senha = parametro("senha", "carga123");
+        List<Sessao> sessoes = new ArrayList<>(usuarios);
+        for (int u = 0; u < usuarios; u++) {
+            String token = autenticar(String.format("%s%04d", prefixo, u), senha);
+            HttpResponse<String> resposta = client.send(get(token, "/categorias"),
+                    HttpResponse.BodyHandlers.ofString());
+            long[] categorias = ID.matcher(esperarSucesso(resposta, "consulta das categorias")).results()
+                    .mapToLong(resultado -> Long.parseLong(resultado.group(1)))
+                    .toArray();
+            if (categorias.length == 0) {
+                throw new IllegalStateException("O usuário " + prefixo + u + " não tem categorias.");
+            }
+            sessoes.add(new Sessao(token, categorias));
+        }
+        System.out.println("Autenticados " + usuarios + " usuários da massa de carga.");
+        return sessoes;
+    }
+
+    private final class Cliente implements Runnable {
+
+        private final Sessao sessao;
+        private final SplittableRandom aleatorio;
+        private final double escritas;
+        private final long inicioMedicao;
+        private final long fim;
+        private final CountDownLatch terminados;
+        private final Map<Operacao, Amostras> amostras = new EnumMap<>(Operacao.class);
+        private final Map<Operacao, Long> erros = new EnumMap<>(Operacao.class);
+
+        Cliente(Sessao sessao, SplittableRandom aleatorio, double escritas, long inicioMedicao, long fim,
+                CountDownLatch terminados) {
+            this.sessao = sessao;
+            this.aleatorio = aleatorio;
+            this.escritas = escritas;
+            this.inicioMedicao = inicioMedicao;
+            this.fim = fim;
+            this.terminados = terminados;
+            for (Operacao operacao : Operacao.values()) {
+                amostras.put(operacao, new Amostras());
+                erros.put(operacao, 0L);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                long agora = System.nanoTime();
+                while (agora < fim) {
+                    Operacao operacao = sortear();
+                    boolean ok;
+                    try {
+                        ok = enviar(requisicao(operacao, sessao, aleatorio)) < 400;
+                    } catch (IOException | UncheckedIOException e) {
+                        ok = false;
+                    }
+                    long depois = System.nanoTime();
+                    if (agora >= inicioMedicao) {
+                        if (ok) {
+                            amostras.get(operacao).adicionar(depois - agora);
+                        } else {
+                            erros.merge(operacao, 1L, Long::sum);
+                        }
+                    }
+                    agora = depois;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                terminados.countDown();
+            }
+        }
+
+        private Operacao sortear() {
+            if (aleatorio.nextDouble() < escritas) {
+                return Operacao.CRIAR;
+            }
+            int sorteio = aleatorio.nextInt(PESO_LEITURAS);
+            for (Operacao operacao : Operacao.values()) {
+                sorteio -= operacao.peso;
+                if (sorteio < 0) {
+                    return operacao;
+                }
+            }
+            throw new IllegalStateException();
+        }
+    }
+
+    private HttpRequest requisicao(Operacao operacao, Sessao sessao, SplittableRandom aleatorio) {
+        String token = sessao.token();
+        YearMonth mes = YearMonth.now();
+        switch (operacao) {
+            case PAGINA:
+                return get(token, "/transacoes/pagina?size=50");
+            case SALDO:
+                return get(token, "/transacoes/saldo");
+            case DASHBOARD:
+                return get(token, "/dashboard");
+            case CATEGORIAS:
+                return get(token, "/categorias");
+            case BUSCA:
+                return get(token, "/transacoes/busca?q=" + TERMOS_BUSCA[aleatorio.nextInt(TERMOS_BUSCA.length)]);
+            case SERIE:
+                return get(token, "/transacoes/saldo/serie?intervalo=mensal");
+            case RELATORIO:
+                return get(token, "/relatorios/mensal?inicio=" + mes.minusMonths(11) + "&fim=" + mes);
+            case LISTAR:
+                return get(token, "/transacoes");
+            case SYNC:
+                return get(token, "/sync?limite=500");
+            default:
+                return post(token, "/transacoes", transacao(aleatorio, sessao));
+        }
+    }
+
+    private String autenticar(String usuario, String senha) throws IOException, InterruptedException {
+        String corpo = String.format("{\"username\":\"%s\",\"password\":\"%s\"}", usuario, senha);
+        HttpResponse<String> resposta = client.send(
+                HttpRequest.newBuilder(base.resolve("/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        return extrair(TOKEN, esperarSucesso(resposta, "login de " + usuario));
+    }
+
+    private long criarCategoria(String token) throws IOException, InterruptedException {
+        String corpo = "{\"nome\":\"Carga " + LocalDateTime.now() + "\"}";
+        HttpResponse<String> resposta = client.send(post(token, "/categorias", corpo),
+                HttpResponse.BodyHandlers.ofString());
+        return Long.parseLong(extrair(ID, esperarSucesso(resposta, "criação da categoria")));
+    }
+
+    /**
+     * Garante um volume mínimo de transações para que as listagens não
+     * meçam uma tabela vazia.
+     */
+    private void semear(Sessao sessao, int quantidade) throws IOException, InterruptedException {
+        SplittableRandom aleatorio = new SplittableRandom(0);
+        for (int enviadas = 0; enviadas < quantidade; enviadas += TAMANHO_LOTE) {
+            int tamanho = Math.min(TAMANHO_LOTE, quantidade - enviadas);
+            StringBuilder lote = new StringBuilder("[");
+            for (int i = 0; i < tamanho; i++) {
+                if (i > 0) {
+                    lote.append(',');
+                }
+                lote.append(transacao(aleatorio, sessao));
+            }
+            lote.append(']');
+            HttpResponse<String> resposta = client.send(post(sessao.token(), "/transacoes/lote", lote.toString()),
+                    HttpResponse.BodyHandlers.ofString());
+            esperarSucesso(resposta, "carga inicial");
+        }
+        if (quantidade > 0) {
+            System.out.println("Carga inicial: " + quantidade + " transações.");
+        }
+    }
+
+    private static String transacao(SplittableRandom aleatorio, Sessao sessao) {
+        boolean receita = aleatorio.nextInt(4) == 0;
+        LocalDate data = LocalDate.now().minusDays(aleatorio.nextInt(365));
+        long categoria = sessao.categorias()[aleatorio.nextInt(sessao.categorias().length)];
+        return String.format(Locale.ROOT,
+                "{\"descricao\":\"Carga %d\",\"valor\":%d.%02d,\"data\":\"%s\",\"tipo\":\"%s\",\"categoria\":{\"id\":%d}}",
+                aleatorio.nextInt(1000), 1 + aleatorio.nextInt(500), aleatorio.nextInt(100), data,
+                receita ? "RECEITA" : "DESPESA", categoria);
+    }
+
+    private int enviar(HttpRequest requisicao) throws IOException, InterruptedException {
+        return client.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest get(String token, String caminho) {
+        return HttpRequest.newBuilder(base.resolve(caminho))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String token, String caminho, String json) {
+        return HttpRequest.newBuilder(base.resolve(caminho))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private void relatar(List<Cliente> clientes, Duration duracao) throws IOException {
+        double segundos = duracao.toNanos() / 1e9;
+        List<String> linhas = new ArrayList<>();
+        String rotulo = parametro("rotulo", "");
+        String concorrencia = parametro("concorrencia", "200");
+
+        System.out.printf("%-24s %9s %7s %10s %9s %9s %9s %9s%n",
+                "operação", "ok", "erros", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        Amostras total = new Amostras();
+        long errosTotal = 0;
+        for (Operacao operacao : Operacao.values()) {
+            Amostras amostras = new Amostras();
+            long erros = 0;
+            for (Cliente cliente : clientes) {
+                amostras.adicionarTodas(cliente.amostras.get(operacao));
+                erros += cliente.erros.get(operacao);
+            }
+            total.adicionarTodas(amostras);
+            errosTotal += erros;
+            linhas.add(imprimir(operacao.descricao, amostras, erros, segundos, rotulo, concorrencia));
+        }
+        linhas.add(imprimir("total", total, errosTotal, segundos, rotulo, concorrencia));
+
+        String saida = parametros.get("saida");
+        if (saida != null) {
+            Path arquivo = Path.of(saida);
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+            if (Files.notExists(arquivo)) {
+                Files.writeString(arquivo, "momento,rotulo,concorrencia,operacao,ok,erros,req_s,p50_ms,p90_ms,p99_ms,max_ms\n",
+                        StandardCharsets.UTF_8);
+            }
+            Files.write(arquivo, linhas, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+            System.out.println("Resultado anexado a " + arquivo);
+        }
+    }
+
+    private static String imprimir(String nome, Amostras amostras, long erros, double segundos,
+            String rotulo, String concorrencia) {
+        amostras.ordenar();
+        double vazao = amostras.tamanho / segundos;
+        double p50 = amostras.percentilMillis(0.50);
+        double p90 = amostras.percentilMillis(0.90);
+        double p99 = amostras.percentilMillis(0.99);
+        double max = amostras.percentilMillis(1.0);
+        System.out.printf(Locale.ROOT, "%-24s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                nome, amostras.tamanho, erros, vazao, p50, p90, p99, max);
+        return String.format(Locale.ROOT, "%s,%s,%s,%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f",
+                LocalDateTime.now().withNano(0), rotulo, concorrencia, nome, amostras.tamanho, erros,
+                vazao, p50, p90, p99, max);
+    }
+
+    private static double[] acumuladoZipf(int quantidade, double expoente) {
+        double[] acumulado = new double[quantidade];
+        double soma = 0;
+        for (int i = 0; i < quantidade; i++) {
+            soma += 1 / Math.pow(i + 1, expoente);
+            acumulado[i] = soma;
+        }
+        for (int i = 0; i < quantidade; i++) {
+            acumulado[i] /= soma;
+        }
+        return acumulado;
+    }
+
+    private static int sortear(SplittableRandom aleatorio, double[] acumulado) {
+        int indice = Arrays.binarySearch(acumulado, aleatorio.nextDouble());
+        return Math.min(indice < 0 ? -indice - 1 : indice, acumulado.length - 1);
+    }
+
+    private static String esperarSucesso(HttpResponse<String> resposta, String etapa) {
+        if (resposta.statusCode() >= 400) {
+            throw new IllegalStateException("Falha na " + etapa + ": HTTP " + resposta.statusCode()
+                    + " " + resposta.body());
+        }
+        return resposta.body();
+    }
+
+    private static String extrair(Pattern padrao, String json) {
+        Matcher matcher = padrao.matcher(json);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Resposta inesperada: " + json);
+        }
+        return matcher.group(1);
+    }
+
+    private String parametro(String nome, String padrao) {
+        return parametros.getOrDefault(nome, padrao);
+    }
+
+    /**
+     * Latências em nanossegundos. Guarda todas as amostras (e não um
+     * histograma) para que os percentis sejam exatos.
+     */
+    static final class Amostras {
+
+        private long[] valores = new long[1024];
+        private int tamanho;
+
+        void adicionar(long nanos) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho++] = nanos;
+        }
+
+        void adicionarTodas(Amostras outras) {
+            if (tamanho + outras.tamanho > valores.length) {
+                valores = Arrays.copyOf(valores, Math.max(valores.length * 2, tamanho + outras.tamanho));
+            }
+            System.arraycopy(outras.valores, 0, valores, tamanho, outras.tamanho);
+            tamanho += outras.tamanho;
+        }
+
+        void ordenar() {
+            Arrays.sort(valores, 0, tamanho);
+        }
+
+        double percentilMillis(double percentil) {
+            if (tamanho == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(percentil * tamanho) - 1;
+            return valores[Math.max(0, indice)] / 1e6;
+        }
+    }
+}
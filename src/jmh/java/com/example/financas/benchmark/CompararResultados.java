@@ -0,0 +1,120 @@
+package com.example.financas.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Compara um resultado JMH (JSON) com uma baseline salva. Uma diferença só
+ * conta como mudança quando passa da soma dos erros das duas medições e da
+ * tolerância relativa; abaixo disso é ruído. Compara o score e, quando a
+ * execução usou -prof gc, a alocação por operação (gc.alloc.rate.norm).
+ *
+ * <pre>
+ * CompararResultados &lt;baseline.json&gt; &lt;atual.json&gt; [tolerancia=0.05] [falhar=true|false]
+ * </pre>
+ */
+public final class CompararResultados {
+
+    private static final String ALOCACAO = "gc.alloc.rate.norm";
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Resultado(String benchmark, String mode, Map<String, String> params, Metrica primaryMetric,
+            Map<String, Metrica> secondaryMetrics) {
+
+        String chave() {
+            return params == null || params.isEmpty() ? benchmark : benchmark + " " + new TreeMap<>(params);
+        }
+    }
+
+    // Os erros vêm como texto ("NaN") quando há uma única iteração
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Metrica(String score, String scoreError, String scoreUnit) {
+
+        double valor() {
+            return Double.parseDouble(score);
+        }
+
+        double erro() {
+            double erro = scoreError == null ? Double.NaN : Double.parseDouble(scoreError);
+            return Double.isNaN(erro) ? 0 : erro;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Uso: CompararResultados <baseline.json> <atual.json>"
+                    + " [tolerancia] [falhar]");
+        }
+        double tolerancia = args.length > 2 ? Double.parseDouble(args[2]) : 0.05;
+        boolean falhar = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        Map<String, Resultado> baseline = ler(Path.of(args[0]));
+        Map<String, Resultado> atual = ler(Path.of(args[1]));
+
+        int piores = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "benchmark", "baseline", "atual", "variação");
+        for (Resultado resultado : atual.values()) {
+            Resultado anterior = baseline.get(resultado.chave());
+            if (anterior == null) {
+                System.out.printf("%-70s %14s%n", resultado.chave(), "(novo)");
+                continue;
+            }
+            boolean menorEhMelhor = !resultado.mode().equals("thrpt");
+            if (comparar(resultado.chave(), anterior.primaryMetric(), resultado.primaryMetric(), menorEhMelhor,
+                    tolerancia)) {
+                piores++;
+            }
+            Metrica alocacaoAnterior = anterior.secondaryMetrics() == null ? null
+                    : anterior.secondaryMetrics().get(ALOCACAO);
+            Metrica alocacaoAtual = resultado.secondaryMetrics() == null ? null
+                    : resultado.secondaryMetrics().get(ALOCACAO);
+            if (alocacaoAnterior != null && alocacaoAtual != null
+                    && comparar("  " + ALOCACAO, alocacaoAnterior, alocacaoAtual, true, tolerancia)) {
+                piores++;
+            }
+        }
+
+        System.out.println(piores == 0 ? "Nenhuma piora acima do erro e da tolerância."
+                : piores + " medição(ões) pioraram acima do erro e da tolerância.");
+        if (falhar && piores > 0) {
+            System.exit(1);
+        }
+    }
+
+    /** Imprime a linha e diz se a medição piorou. */
+    private static boolean comparar(String nome, Metrica anterior, Metrica atual, boolean menorEhMelhor,
+            double tolerancia) {
+        double diferenca = atual.valor() - anterior.valor();
+        double limite = Math.max(anterior.erro() + atual.erro(), Math.abs(anterior.valor()) * tolerancia);
+        String situacao = "";
+        boolean piorou = false;
+        if (Math.abs(diferenca) > limite) {
+            piorou = menorEhMelhor == (diferenca > 0);
+            situacao = piorou ? "  PIOR" : "  melhor";
+        }
+        double variacao = anterior.valor() == 0 ? 0 : 100 * diferenca / anterior.valor();
+        System.out.printf(Locale.ROOT, "%-70s %14.3f %14.3f %+8.1f%%%s %s%n",
+                nome, anterior.valor(), atual.valor(), variacao, situacao, atual.scoreUnit());
+        return piorou;
+    }
+
+    private static Map<String, Resultado> ler(Path arquivo) throws IOException {
+        ObjectMapper objectMapper = JsonMapper.builder().build();
+        Resultado[] resultados = objectMapper.readValue(Files.readString(arquivo), Resultado[].class);
+        Map<String, Resultado> porChave = new LinkedHashMap<>();
+        for (Resultado resultado : resultados) {
+            porChave.put(resultado.chave(), resultado);
+        }
+        return porChave;
+    }
+}
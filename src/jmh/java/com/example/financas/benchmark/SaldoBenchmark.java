@@ -0,0 +1,129 @@
+package com.example.financas.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.financas.FinancasApplication;
+import com.example.financas.dto.SaldoDTO;
+import com.example.financas.model.Categoria;
+import com.example.financas.model.SaldoUsuario;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.Transacao;
+import com.example.financas.model.User;
+import com.example.financas.repository.SaldoUsuarioRepository;
+import com.example.financas.repository.TransacaoRepository;
+import com.example.financas.service.CategoriaService;
+import com.example.financas.service.SaldoService;
+import com.example.financas.service.TransacaoService;
+import com.example.financas.service.UserService;
+
+/**
+ * Custo do cálculo de saldo pelas consultas que a aplicação de fato executa,
+ * com o contexto Spring (Hibernate, índices do mapeamento e H2 em memória),
+ * para 10k, 100k e 1M transações do usuário medido:
+ * <ul>
+ * <li>{@code calcularSaldo}: a agregação de
+ * {@link TransacaoRepository#calcularSaldo(User)} sobre as transações;</li>
+ * <li>{@code saldoUsuarioPorChave}: a leitura por chave em saldo_usuario via
+ * {@link SaldoUsuarioRepository#findById(Object)};</li>
+ * <li>{@code consultarSaldoMaterializado}: a mesma leitura por
+ * {@link SaldoService#consultar(User)}, com o proxy transacional.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaldoBenchmark {
+
+    private static final int TAMANHO_LOTE = 1_000;
+
+    @Param({ "10000", "100000", "1000000" })
+    private int transacoesPorUsuario;
+
+    private ConfigurableApplicationContext contexto;
+    private TransacaoRepository transacaoRepository;
+    private SaldoUsuarioRepository saldoUsuarioRepository;
+    private SaldoService saldoService;
+    private User usuario;
+
+    @Setup(Level.Trial)
+    public void popularBanco() {
+        contexto = new SpringApplicationBuilder(FinancasApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:saldo" + transacoesPorUsuario + ";DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        transacaoRepository = contexto.getBean(TransacaoRepository.class);
+        saldoUsuarioRepository = contexto.getBean(SaldoUsuarioRepository.class);
+        saldoService = contexto.getBean(SaldoService.class);
+
+        // O usuário medido divide a tabela com outro usuário (10% das linhas)
+        Random random = new Random(42);
+        usuario = popular("benchmark", transacoesPorUsuario, random);
+        popular("outro", transacoesPorUsuario / 10, random);
+    }
+
+    @TearDown(Level.Trial)
+    public void fecharContexto() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public SaldoDTO calcularSaldo() {
+        return transacaoRepository.calcularSaldo(usuario);
+    }
+
+    @Benchmark
+    public Optional<SaldoUsuario> saldoUsuarioPorChave() {
+        return saldoUsuarioRepository.findById(usuario.getId());
+    }
+
+    @Benchmark
+    public SaldoDTO consultarSaldoMaterializado() {
+        return saldoService.consultar(usuario);
+    }
+
+    private User popular(String username, int quantidade, Random random) {
+        User user = contexto.getBean(UserService.class).registrarNovoUsuario(username, username);
+        Categoria salva = contexto.getBean(CategoriaService.class).salvar(new Categoria("Benchmark"), user);
+        TransacaoService transacaoService = contexto.getBean(TransacaoService.class);
+        for (int inseridas = 0; inseridas < quantidade; inseridas += TAMANHO_LOTE) {
+            List<Transacao> lote = new ArrayList<>();
+            for (int i = 0; i < Math.min(TAMANHO_LOTE, quantidade - inseridas); i++) {
+                lote.add(new Transacao("Transação " + (inseridas + i), BigDecimal.valueOf(random.nextInt(100_000), 2),
+                        LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3650)),
+                        random.nextInt(3) == 0 ? TipoTransacao.RECEITA : TipoTransacao.DESPESA,
+                        null, new Categoria(salva.getId(), null, null)));
+            }
+            transacaoService.criarEmLote(lote, user);
+        }
+        return user;
+    }
+}
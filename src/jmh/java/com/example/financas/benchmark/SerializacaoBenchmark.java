@@ -0,0 +1,92 @@
+package com.example.financas.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.financas.dto.TransacaoResumoDTO;
+import com.example.financas.model.Categoria;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.Transacao;
+import com.example.financas.model.User;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Serialização JSON de listas de transações nos tamanhos típicos de página
+ * e de listagem completa:
+ * <ul>
+ * <li>{@code entidades}: a entidade {@link Transacao} com a categoria
+ * aninhada, como os endpoints de escrita devolvem;</li>
+ * <li>{@code projecoes}: {@link TransacaoResumoDTO}, o formato das
+ * listagens.</li>
+ * </ul>
+ * Rode com -prof gc (padrão da task jmh) para ver a alocação por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    @Param({ "10", "100", "1000", "10000" })
+    private int tamanho;
+
+    private ObjectMapper objectMapper;
+    private List<Transacao> entidades;
+    private List<TransacaoResumoDTO> projecoes;
+
+    @Setup(Level.Trial)
+    public void montarListas() {
+        objectMapper = JsonMapper.builder().build();
+
+        User usuario = new User("benchmark", null);
+        usuario.setId(UUID.randomUUID());
+        List<Categoria> categorias = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            categorias.add(new Categoria(id, "Categoria " + id, usuario));
+        }
+
+        Random random = new Random(42);
+        entidades = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            Transacao transacao = new Transacao("Transação " + i, BigDecimal.valueOf(random.nextInt(100_000), 2),
+                    LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3650)),
+                    random.nextInt(3) == 0 ? TipoTransacao.RECEITA : TipoTransacao.DESPESA,
+                    usuario, categorias.get(random.nextInt(categorias.size())));
+            transacao.setId((long) i);
+            entidades.add(transacao);
+        }
+        projecoes = entidades.stream().map(TransacaoResumoDTO::de).toList();
+    }
+
+    @Benchmark
+    public byte[] entidades() {
+        return objectMapper.writeValueAsBytes(entidades);
+    }
+
+    @Benchmark
+    public byte[] projecoes() {
+        return objectMapper.writeValueAsBytes(projecoes);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.financas.benchmark;
+
+import java.lang.reflect.Field;
+import java.security.Key;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import com.example.financas.model.User;
+import com.example.financas.service.TokenService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Custo de validar o token de uma requisição:
+ * <ul>
+ * <li>{@code parserPorChamada}: monta o parser e verifica o HMAC a cada chamada
+ * (implementação original);</li>
+ * <li>{@code parserReutilizado}: parser compartilhado, verificação completa;</li>
+ * <li>{@code tokenEmCache}: {@link TokenService#lerClaims} com o token já
+ * verificado, o caso comum de um cliente repetindo o mesmo token;</li>
+ * <li>{@code validateToken}: o mesmo caminho pela API que o filtro usava;</li>
+ * <li>{@code generateToken}: emissão de um token de acesso no login.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenBenchmark {
+
+    private static final String CHAVE = "ASd87632k287H8sdg817gSjdh871h1H871Jjd87qws238Yf7T4d5h8B";
+
+    private Key key;
+    private JwtParser parser;
+    private TokenService tokenService;
+    private User usuario;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void gerarToken() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(CHAVE));
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+        tokenService = new TokenService(CHAVE, 10_000, new SimpleMeterRegistry());
+        Field validade = ReflectionUtils.findField(TokenService.class, "expirationTimeMillis");
+        ReflectionUtils.makeAccessible(validade);
+        ReflectionUtils.setField(validade, tokenService, TimeUnit.HOURS.toMillis(1));
+
+        usuario = new User("benchmark", null);
+        usuario.setId(UUID.randomUUID());
+
+        Date agora = new Date();
+        token = Jwts.builder()
+                .setSubject(usuario.getUsername())
+                .claim(TokenService.CLAIM_USER_ID, usuario.getId().toString())
+                .setIssuedAt(agora)
+                .setExpiration(new Date(agora.getTime() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(key)
+                .compact();
+
+        // Aquece o cache com o token, como após a primeira requisição do cliente
+        tokenService.lerClaims(token);
+    }
+
+    @Benchmark
+    public Claims parserPorChamada() {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public Claims parserReutilizado() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims tokenEmCache() {
+        return tokenService.lerClaims(token);
+    }
+
+    @Benchmark
+    public String validateToken() {
+        return tokenService.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(usuario);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.financas.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.financas.FinancasApplication;
+import com.example.financas.dto.SaldoDTO;
+import com.example.financas.model.Categoria;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.Transacao;
+import com.example.financas.model.User;
+import com.example.financas.service.CategoriaService;
+import com.example.financas.service.SaldoService;
+import com.example.financas.service.TransacaoService;
+import com.example.financas.service.UserService;
+
+/**
+ * Caminho completo do serviço (proxy transacional, cache, Hibernate e H2 em
+ * memória) com o contexto Spring da aplicação, sem a camada web:
+ * <ul>
+ * <li>{@code getSaldoPorUsuario}: o que o endpoint de saldo chama, servido
+ * pelo cache na maioria das vezes;</li>
+ * <li>{@code saldoMaterializado}: a leitura que o cache evita;</li>
+ * <li>{@code criar}: inclusão de uma transação com validação da categoria,
+ * saldo, resumo mensal e versão.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransacaoServiceBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int transacoesExistentes;
+
+    private ConfigurableApplicationContext contexto;
+    private TransacaoService transacaoService;
+    private SaldoService saldoService;
+    private User usuario;
+    private Categoria categoria;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void iniciarContexto() {
+        contexto = new SpringApplicationBuilder(FinancasApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:servico" + transacoesExistentes + ";DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        transacaoService = contexto.getBean(TransacaoService.class);
+        saldoService = contexto.getBean(SaldoService.class);
+
+        usuario = contexto.getBean(UserService.class).registrarNovoUsuario("benchmark", "benchmark");
+        Categoria salva = contexto.getBean(CategoriaService.class).salvar(new Categoria("Benchmark"), usuario);
+        categoria = new Categoria(salva.getId(), salva.getNome(), usuario);
+
+        random = new Random(42);
+        for (int inseridas = 0; inseridas < transacoesExistentes; inseridas += 1_000) {
+            List<Transacao> lote = new ArrayList<>();
+            for (int i = 0; i < Math.min(1_000, transacoesExistentes - inseridas); i++) {
+                lote.add(novaTransacao());
+            }
+            transacaoService.criarEmLote(lote, usuario);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void fecharContexto() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public SaldoDTO getSaldoPorUsuario() {
+        return transacaoService.getSaldoPorUsuario(usuario);
+    }
+
+    @Benchmark
+    public SaldoDTO saldoMaterializado() {
+        return saldoService.consultar(usuario);
+    }
+
+    @Benchmark
+    public Transacao criar() {
+        return transacaoService.criar(novaTransacao(), usuario);
+    }
+
+    private Transacao novaTransacao() {
+        return new Transacao("Benchmark", BigDecimal.valueOf(random.nextInt(100_000), 2),
+                LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3650)),
+                random.nextInt(3) == 0 ? TipoTransacao.RECEITA : TipoTransacao.DESPESA,
+                null, new Categoria(categoria.getId(), null, null));
+    }
+}
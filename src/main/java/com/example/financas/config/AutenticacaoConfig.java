@@ -0,0 +1,34 @@
+package com.example.financas.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+@Configuration
+public class AutenticacaoConfig {
+
+    public static final String EXECUTOR_LOGIN = "loginExecutor";
+
+    /**
+     * Pool exclusivo para a verificação de senha (BCrypt), que é cara de
+     * propósito. Com número fixo de threads e fila limitada, uma rajada de
+     * logins ocupa no máximo esse pool; o excedente é recusado na hora
+     * (RejectedExecutionException → 503) em vez de prender as threads do
+     * servidor que atendem os demais endpoints.
+     */
+    @Bean(name = EXECUTOR_LOGIN, destroyMethod = "shutdown")
+    public ThreadPoolExecutor loginExecutor(
+            @Value("${auth.login.threads:0}") int threads,
+            @Value("${auth.login.fila:100}") int fila) {
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila),
+                new CustomizableThreadFactory("login-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.financas.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Caches por usuário, sempre com o id do usuário como chave
+    public static final String SALDO = "saldo";
+    public static final String CATEGORIAS = "categorias";
+    public static final String CATEGORIAS_POR_ID = "categoriasPorId";
+
+    /**
+     * Caches em memória limitados por tamanho e TTL. O proxy transacional adia
+     * as remoções para depois do commit, então uma leitura concorrente não
+     * repõe no cache um valor que a transação ainda vai alterar. Acertos,
+     * falhas e remoções saem nas métricas cache_* do Prometheus, na porta de
+     * gerenciamento.
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.usuarios.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${cache.usuarios.ttl:PT10M}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(SALDO, CATEGORIAS, CATEGORIAS_POR_ID);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.financas.config;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.financas.model.User;
+import com.example.financas.service.ResumoMensalService;
+import com.example.financas.service.SaldoService;
+import com.example.financas.service.UserService;
+import com.example.financas.service.VersaoService;
+
+/**
+ * Massa sintética para testes de carga (perfil "carga"). Cria usuários
+ * carga-0000, carga-0001... com a mesma senha, categorias para cada um e as
+ * transações distribuídas de forma assimétrica (Zipf): poucos usuários
+ * concentram a maior parte das linhas, e o mesmo vale para as categorias de
+ * cada usuário. As datas se concentram nos meses recentes.
+ *
+ * Categorias e transações entram por JDBC em batch, com ids da própria
+ * sequência do Hibernate e versões reservadas no VersaoService, como nas
+ * escritas normais; saldo e resumo mensal são reconstruídos no final.
+ */
+@Configuration
+@Profile("carga")
+public class CargaDataLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(CargaDataLoader.class);
+
+    private static final int DIAS_DE_HISTORICO = 3 * 365;
+
+    // Mesmo passo do allocationSize das sequências em Transacao e Categoria
+    private static final int PASSO_SEQUENCIA = 50;
+
+    private static final String[] DESCRICOES = { "Mercado", "Aluguel", "Farmácia", "Restaurante", "Combustível",
+            "Internet", "Academia", "Cinema", "Padaria", "Energia", "Transporte", "Livraria" };
+
+    private static final String INSERT_CATEGORIA = "INSERT INTO categoria (id, nome, user_id, versao)"
+            + " VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_TRANSACAO = "INSERT INTO transacao"
+            + " (id, valor, data, descricao, tipo, categoria_id, user_id, versao) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Value("${carga.dados.usuarios:100}")
+    private int usuarios;
+
+    @Value("${carga.dados.categorias-por-usuario:10}")
+    private int categoriasPorUsuario;
+
+    @Value("${carga.dados.transacoes:1000000}")
+    private long transacoes;
+
+    @Value("${carga.dados.assimetria:1.1}")
+    private double assimetria;
+
+    @Value("${carga.dados.senha:carga123}")
+    private String senha;
+
+    @Value("${carga.dados.semente:42}")
+    private long semente;
+
+    @Value("${carga.dados.tamanho-lote:5000}")
+    private int tamanhoLote;
+
+    @Bean
+    public CommandLineRunner gerarDadosDeCarga(UserService userService, VersaoService versaoService,
+            SaldoService saldoService, ResumoMensalService resumoMensalService, JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate) {
+        return args -> {
+            long inicio = System.nanoTime();
+            log.info("Gerando massa de carga: {} usuários, {} transações...", usuarios, transacoes);
+
+            SplittableRandom random = new SplittableRandom(semente);
+            double[] pesosUsuarios = pesosZipf(usuarios, assimetria);
+            double[] acumuladoCategorias = acumulado(pesosZipf(categoriasPorUsuario, assimetria));
+
+            // Começa depois de qualquer bloco de ids que o Hibernate já tenha reservado
+            long proximaCategoria = proximoValor(jdbcTemplate, "categoria_seq") + 1;
+            long proximaTransacao = proximoValor(jdbcTemplate, "transacao_seq") + 1;
+
+            List<User> criados = new ArrayList<>();
+            long inseridas = 0;
+            for (int u = 0; u < usuarios; u++) {
+                User user = userService.registrarNovoUsuario(String.format("carga-%04d", u), senha);
+                criados.add(user);
+
+                long[] categorias = new long[categoriasPorUsuario];
+                List<Object[]> linhasCategorias = new ArrayList<>();
+                for (int c = 0; c < categoriasPorUsuario; c++) {
+                    categorias[c] = proximaCategoria++;
+                    linhasCategorias.add(new Object[] { categorias[c], "Categoria " + (c + 1), user.getId(), 0L });
+                }
+                inserir(jdbcTemplate, transactionTemplate, versaoService, user, INSERT_CATEGORIA, linhasCategorias, 3);
+
+                long quantidade = Math.round(transacoes * pesosUsuarios[u]);
+                for (long feitas = 0; feitas < quantidade; feitas += tamanhoLote) {
+                    int tamanho = (int) Math.min(tamanhoLote, quantidade - feitas);
+                    List<Object[]> lote = new ArrayList<>(tamanho);
+                    for (int i = 0; i < tamanho; i++) {
+                        lote.add(transacao(random, proximaTransacao++, categorias, acumuladoCategorias, user));
+                    }
+                    inserir(jdbcTemplate, transactionTemplate, versaoService, user, INSERT_TRANSACAO, lote, 7);
+                }
+                inseridas += quantidade;
+            }
+
+            // O próximo bloco do Hibernate (valor - passo + 1 até valor) fica acima dos ids gerados
+            reiniciar(jdbcTemplate, "categoria_seq", proximaCategoria + PASSO_SEQUENCIA);
+            reiniciar(jdbcTemplate, "transacao_seq", proximaTransacao + PASSO_SEQUENCIA);
+
+            saldoService.reconstruirTodos();
+            for (User user : criados) {
+                resumoMensalService.reconstruir(user);
+            }
+
+            log.info("Massa de carga gerada: {} usuários, {} categorias, {} transações em {} s.",
+                    usuarios, (long) usuarios * categoriasPorUsuario, inseridas,
+                    (System.nanoTime() - inicio) / 1_000_000_000);
+        };
+    }
+
+    /**
+     * Insere o lote numa transação própria, com versões consecutivas
+     * reservadas para ele (a última coluna de cada linha).
+     */
+    private static void inserir(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            VersaoService versaoService, User user, String sql, List<Object[]> linhas, int colunaVersao) {
+        transactionTemplate.executeWithoutResult(status -> {
+            long versao = versaoService.reservar(user, linhas.size()) - linhas.size() + 1;
+            for (Object[] linha : linhas) {
+                linha[colunaVersao] = versao++;
+            }
+            jdbcTemplate.batchUpdate(sql, linhas);
+        });
+    }
+
+    private static Object[] transacao(SplittableRandom random, long id, long[] categorias,
+            double[] acumuladoCategorias, User user) {
+        boolean receita = random.nextInt(100) < 15;
+        // Valores log-normais: muitos gastos pequenos, poucos grandes
+        double bruto = Math.exp((receita ? 7.5 : 3.8) + random.nextGaussian());
+        BigDecimal valor = BigDecimal.valueOf(Math.max(bruto, 0.01)).setScale(2, RoundingMode.HALF_UP);
+        // Quadrado do sorteio: mais transações recentes do que antigas
+        double u = random.nextDouble();
+        LocalDate data = LocalDate.now().minusDays((long) (DIAS_DE_HISTORICO * u * u));
+        String descricao = receita ? "Salário " + data.getMonthValue()
+                : DESCRICOES[random.nextInt(DESCRICOES.length)] + " " + random.nextInt(1000);
+        long categoria = categorias[sortear(random, acumuladoCategorias)];
+        return new Object[] { id, valor, data, descricao, receita ? "RECEITA" : "DESPESA", categoria, user.getId(),
+                0L };
+    }
+
+    private static double[] pesosZipf(int quantidade, double expoente) {
+        double[] pesos = new double[quantidade];
+        double soma = 0;
+        for (int i = 0; i < quantidade; i++) {
+            pesos[i] = 1 / Math.pow(i + 1, expoente);
+            soma += pesos[i];
+        }
+        for (int i = 0; i < quantidade; i++) {
+            pesos[i] /= soma;
+        }
+        return pesos;
+    }
+
+    private static double[] acumulado(double[] pesos) {
+        double[] acumulado = new double[pesos.length];
+        double soma = 0;
+        for (int i = 0; i < pesos.length; i++) {
+            soma += pesos[i];
+            acumulado[i] = soma;
+        }
+        return acumulado;
+    }
+
+    private static int sortear(SplittableRandom random, double[] acumulado) {
+        int indice = Arrays.binarySearch(acumulado, random.nextDouble());
+        return Math.min(indice < 0 ? -indice - 1 : indice, acumulado.length - 1);
+    }
+
+    private static long proximoValor(JdbcTemplate jdbcTemplate, String sequencia) {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequencia, Long.class);
+    }
+
+    private static void reiniciar(JdbcTemplate jdbcTemplate, String sequencia, long valor) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequencia + " RESTART WITH " + valor);
+    }
+}
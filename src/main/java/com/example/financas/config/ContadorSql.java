@@ -0,0 +1,158 @@
+package com.example.financas.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Conta os comandos SQL executados e o tempo gasto neles pela thread atual,
+ * entre {@link #iniciar()} e {@link #encerrar}. Alimentado pelo
+ * {@link DataSourceContador}, que envolve as conexões do pool. Medições
+ * podem ser aninhadas (um teste medindo uma requisição que o filtro também
+ * mede); ao encerrar, a interna soma na externa.
+ *
+ * Cada chamada execute* conta como um comando (um executeBatch conta uma
+ * vez, como um round trip). O tempo é o da execução; a leitura do ResultSet
+ * depois dela não entra. Trabalho feito em outras threads (o pool de login,
+ * as partes do dashboard, exportações assíncronas) não é contado na
+ * requisição que o disparou.
+ */
+public final class ContadorSql {
+
+    private static final ThreadLocal<Contagem> ATUAL = new ThreadLocal<>();
+
+    private ContadorSql() {
+    }
+
+    public static Contagem iniciar() {
+        Contagem contagem = new Contagem(ATUAL.get());
+        ATUAL.set(contagem);
+        return contagem;
+    }
+
+    /** Contagem em andamento na thread, ou null fora de uma medição. */
+    public static Contagem atual() {
+        return ATUAL.get();
+    }
+
+    public static void encerrar(Contagem contagem) {
+        Contagem externa = contagem.externa;
+        if (externa == null) {
+            ATUAL.remove();
+        } else {
+            externa.sql.addAll(contagem.sql);
+            externa.nanos += contagem.nanos;
+            ATUAL.set(externa);
+        }
+    }
+
+    public static final class Contagem {
+
+        private final Contagem externa;
+        private final List<String> sql = new ArrayList<>();
+        private long nanos;
+
+        private Contagem(Contagem externa) {
+            this.externa = externa;
+        }
+
+        void registrar(String comando, long duracaoNanos) {
+            sql.add(comando);
+            nanos += duracaoNanos;
+        }
+
+        public int getComandos() {
+            return sql.size();
+        }
+
+        /** Texto dos comandos executados, na ordem. */
+        public List<String> getSql() {
+            return Collections.unmodifiableList(sql);
+        }
+
+        public double getMillis() {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    /**
+     * DataSource que devolve conexões cujos Statements registram cada
+     * execução na contagem da thread.
+     */
+    static class DataSourceContador extends DelegatingDataSource {
+
+        DataSourceContador(DataSource alvo) {
+            super(alvo);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return conexao(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return conexao(super.getConnection(username, password));
+        }
+
+        private static Connection conexao(Connection conexao) {
+            return (Connection) Proxy.newProxyInstance(ContadorSql.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, metodo, args) -> {
+                        // createStatement, prepareStatement e prepareCall
+                        Object resultado = invocar(conexao, metodo, args);
+                        if (resultado instanceof Statement statement) {
+                            String preparado = args != null && args.length > 0 && args[0] instanceof String texto
+                                    ? texto : null;
+                            return comando(statement, preparado);
+                        }
+                        return resultado;
+                    });
+        }
+
+        private static Statement comando(Statement statement, String preparado) {
+            Class<?> tipo = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+            InvocationHandler handler = (proxy, metodo, args) -> {
+                if (!metodo.getName().startsWith("execute")) {
+                    return invocar(statement, metodo, args);
+                }
+                long inicio = System.nanoTime();
+                try {
+                    return invocar(statement, metodo, args);
+                } finally {
+                    Contagem contagem = ATUAL.get();
+                    if (contagem != null) {
+                        // Statement simples recebe o SQL no execute; o preparado, na criação
+                        String comando = args != null && args.length > 0 && args[0] instanceof String texto
+                                ? texto : preparado;
+                        contagem.registrar(comando, System.nanoTime() - inicio);
+                    }
+                }
+            };
+            return (Statement) Proxy.newProxyInstance(ContadorSql.class.getClassLoader(), new Class<?>[] { tipo },
+                    handler);
+        }
+
+        private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+            try {
+                return metodo.invoke(alvo, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.financas.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.example.financas.filter.ContagemSqlFilter;
+
+/**
+ * Modo de diagnóstico de SQL por requisição. Com debug.sql.habilitado=true,
+ * envolve o DataSource para contar comandos e tempo de banco, devolve os
+ * números no cabeçalho Server-Timing e loga as requisições acima de
+ * debug.sql.orcamento-comandos. Desligado por padrão.
+ */
+@Configuration
+@ConditionalOnProperty(name = "debug.sql.habilitado", havingValue = "true")
+public class ContagemSqlConfig {
+
+    @Bean
+    public static BeanPostProcessor contagemSqlPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ContadorSql.DataSourceContador)) {
+                    return new ContadorSql.DataSourceContador(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Antes da cadeia do Spring Security, para contar também as consultas
+     * feitas na autenticação.
+     */
+    @Bean
+    public FilterRegistrationBean<ContagemSqlFilter> contagemSqlFilter(
+            @Value("${debug.sql.orcamento-comandos:20}") int orcamentoComandos) {
+        FilterRegistrationBean<ContagemSqlFilter> registro = new FilterRegistrationBean<>(
+                new ContagemSqlFilter(orcamentoComandos));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+}
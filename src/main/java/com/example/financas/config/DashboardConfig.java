@@ -0,0 +1,43 @@
+package com.example.financas.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+@Configuration
+public class DashboardConfig {
+
+    public static final String EXECUTOR_DASHBOARD = "dashboardExecutor";
+
+    /**
+     * Executor das consultas paralelas do dashboard. As partes passam quase
+     * todo o tempo esperando o banco, então com threads virtuais ligadas cada
+     * parte ganha a sua, com no máximo dashboard.threads + dashboard.fila em
+     * andamento. Sem elas, um pool fixo com fila limitada que recusa o
+     * excedente na hora; a parte recusada sai como indisponível.
+     */
+    @Bean(name = EXECUTOR_DASHBOARD)
+    public Executor dashboardExecutor(
+            @Value("${dashboard.threads:0}") int threads,
+            @Value("${dashboard.fila:200}") int fila,
+            @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) {
+        int tamanho = threads > 0 ? threads : 4 * Runtime.getRuntime().availableProcessors();
+        if (threadsVirtuais) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dashboard-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(tamanho + fila);
+            return executor;
+        }
+        return new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila),
+                new CustomizableThreadFactory("dashboard-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
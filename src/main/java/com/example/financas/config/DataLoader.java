@@ -1,9 +1,11 @@
 package com.example.financas.config;
 
+import com.example.financas.service.SaldoService;
 import com.example.financas.service.UserService;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -29,4 +31,18 @@ public class DataLoader {
             }
         };
     }
+
+    /**
+     * Recalcula o saldo materializado de todos os usuários. Ative com
+     * --saldo.reconstruir-na-inicializacao=true.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "saldo.reconstruir-na-inicializacao", havingValue = "true")
+    public CommandLineRunner reconstruirSaldos(SaldoService saldoService) {
+        return args -> {
+            System.out.println("Reconstruindo saldos materializados...");
+            int usuarios = saldoService.reconstruirTodos();
+            System.out.println("Saldos reconstruídos para " + usuarios + " usuários.");
+        };
+    }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.example.financas.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Simula um banco lento para os testes de carga: cada conexão obtida do pool
+ * espera banco.latencia-simulada (ex.: PT0.02S) antes de ser entregue, como
+ * se fosse um round trip de rede. A conexão fica ocupada durante a espera,
+ * do mesmo jeito que ficaria com um banco remoto. Desligado por padrão.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banco.latencia-simulada")
+public class LatenciaBancoConfig {
+
+    @Bean
+    public static BeanPostProcessor latenciaBancoPostProcessor(Environment environment) {
+        Duration latencia = environment.getRequiredProperty("banco.latencia-simulada", Duration.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DataSourceLento)) {
+                    return new DataSourceLento(dataSource, latencia);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static class DataSourceLento extends DelegatingDataSource {
+
+        private final long latenciaMillis;
+
+        DataSourceLento(DataSource alvo, Duration latencia) {
+            super(alvo);
+            this.latenciaMillis = latencia.toMillis();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return atrasar(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return atrasar(super.getConnection(username, password));
+        }
+
+        private Connection atrasar(Connection conexao) throws SQLException {
+            try {
+                Thread.sleep(latenciaMillis);
+                return conexao;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                conexao.close();
+                throw new SQLException("Interrompido durante a latência simulada.", e);
+            }
+        }
+    }
+}
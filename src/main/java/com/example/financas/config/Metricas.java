@@ -0,0 +1,30 @@
+package com.example.financas.config;
+
+/**
+ * Nomes das métricas próprias da aplicação. Todas começam com "financas",
+ * o prefixo com histograma de percentis em application.properties.
+ */
+public final class Metricas {
+
+    /** Tempo dos métodos públicos de TransacaoService e CategoriaService. */
+    public static final String SERVICO = "financas.servico";
+
+    /** Tempo de autenticação do JwtTokenFilter, sem o restante da requisição. */
+    public static final String AUTH_FILTRO = "financas.auth.filtro";
+
+    /** Falhas de autenticação, com a tag {@link #TAG_MOTIVO}. */
+    public static final String AUTH_FALHAS = "financas.auth.falhas";
+
+    /** Validação de token em TokenService, com a tag {@link #TAG_CACHE}. */
+    public static final String JWT_VALIDACAO = "financas.jwt.validacao";
+
+    /** BCrypt: verificação no login e codificação no cadastro. */
+    public static final String SENHA_VERIFICACAO = "financas.senha.verificacao";
+    public static final String SENHA_CODIFICACAO = "financas.senha.codificacao";
+
+    public static final String TAG_MOTIVO = "motivo";
+    public static final String TAG_CACHE = "cache";
+
+    private Metricas() {
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.financas.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Delega ao encoder real (BCrypt) e mede cada verificação e codificação.
+ * O BCrypt é lento de propósito, então é o primeiro suspeito quando o
+ * login fica lento; com a medição dá para separá-lo da fila do pool.
+ */
+class PasswordEncoderMedido implements PasswordEncoder {
+
+    private final PasswordEncoder delegado;
+    private final Timer verificacao;
+    private final Timer codificacao;
+
+    PasswordEncoderMedido(PasswordEncoder delegado, MeterRegistry meterRegistry) {
+        this.delegado = delegado;
+        this.verificacao = Timer.builder(Metricas.SENHA_VERIFICACAO).register(meterRegistry);
+        this.codificacao = Timer.builder(Metricas.SENHA_CODIFICACAO).register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return codificacao.record(() -> delegado.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return verificacao.record(() -> delegado.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegado.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.financas.config;
+
+import java.util.Locale;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Escreve a contagem de SQL da requisição no cabeçalho Server-Timing, que
+ * as ferramentas de desenvolvedor dos navegadores mostram junto ao tempo da
+ * requisição. Roda logo antes da serialização do corpo, quando os cabeçalhos
+ * ainda podem ser alterados; carregamentos lazy durante a serialização e
+ * respostas sem corpo (304, streaming) ficam só no log do filtro.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "debug.sql.habilitado", havingValue = "true")
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        ContadorSql.Contagem contagem = ContadorSql.atual();
+        if (contagem != null) {
+            response.getHeaders().add("Server-Timing", String.format(Locale.ROOT,
+                    "db;dur=%.3f;desc=\"%d comandos SQL\"", contagem.getMillis(), contagem.getComandos()));
+        }
+        return body;
+    }
+}
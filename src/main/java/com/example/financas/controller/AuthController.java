@@ -1,17 +1,17 @@
 package com.example.financas.controller;
 
 import com.example.financas.dto.LoginRequest;
+import com.example.financas.dto.RefreshRequest;
 import com.example.financas.dto.TokenResponse;
 import com.example.financas.dto.UserResponse;
 import com.example.financas.model.User;
-import com.example.financas.service.TokenService;
+import com.example.financas.service.LoginService;
 import com.example.financas.service.UserService;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -21,33 +21,25 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/auth")
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
-    private final TokenService tokenService;
+    private final LoginService loginService;
     private final UserService userService;
 
-    public AuthController(AuthenticationManager authenticationManager, TokenService tokenService,
-            UserService userService) {
-        this.authenticationManager = authenticationManager;
-        this.tokenService = tokenService;
+    public AuthController(LoginService loginService, UserService userService) {
+        this.loginService = loginService;
         this.userService = userService;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<TokenResponse> authenticateUser(@RequestBody LoginRequest loginRequest) {
-
-        // 1. Cria o objeto de autenticação (sem autenticar ainda)
-        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                loginRequest.username(), loginRequest.password());
-
-        // 2. Autentica: Chama o AuthenticationManager, que usa o UserDetailsService
-        // (Se falhar, lança exceção)
-        Authentication authentication = authenticationManager.authenticate(authToken);
-
-        // 3. Se bem-sucedido, gera o token
-        String token = tokenService.generateToken((User) authentication.getPrincipal());
+    public CompletableFuture<ResponseEntity<TokenResponse>> authenticateUser(@RequestBody LoginRequest loginRequest) {
+        // A verificação da senha roda no pool de login, liberando a thread da
+        // requisição; falha de credencial vira 401 e pool cheio vira 503
+        return loginService.login(loginRequest.username(), loginRequest.password())
+                .thenApply(ResponseEntity::ok);
+    }
 
-        // 4. Retorna o token para o cliente
-        return ResponseEntity.ok(new TokenResponse(token));
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenResponse> refresh(@RequestBody RefreshRequest refreshRequest) {
+        return ResponseEntity.ok(loginService.renovar(refreshRequest.refreshToken()));
     }
 
     @PostMapping("/register")
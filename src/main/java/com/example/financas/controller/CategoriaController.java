@@ -1,12 +1,16 @@
 package com.example.financas.controller;
 
+import com.example.financas.dto.CategoriaResumoDTO;
 import com.example.financas.model.Categoria;
 import com.example.financas.model.User;
 import com.example.financas.service.CategoriaService;
+import com.example.financas.service.VersaoService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,16 +19,24 @@ import java.util.Optional;
 public class CategoriaController {
 
     private final CategoriaService categoriaService;
+    private final VersaoService versaoService;
 
-    public CategoriaController(CategoriaService categoriaService) {
+    public CategoriaController(CategoriaService categoriaService, VersaoService versaoService) {
         this.categoriaService = categoriaService;
+        this.versaoService = versaoService;
     }
 
     @GetMapping
-    public ResponseEntity<List<Categoria>> listarCategoriasDoUsuario(
-            @AuthenticationPrincipal User user) {
-        List<Categoria> categorias = categoriaService.listar(user);
-        return ResponseEntity.ok(categorias);
+    public ResponseEntity<List<CategoriaResumoDTO>> listarCategoriasDoUsuario(
+            @AuthenticationPrincipal User user, WebRequest request) {
+        // Responde 304 sem ler as categorias se o cliente já tem a versão atual
+        String etag = VersaoService.etag(versaoService.consultar(user));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        List<CategoriaResumoDTO> categorias = categoriaService.listar(user);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(categorias);
     }
 
     @GetMapping("/{id}")
@@ -72,7 +84,7 @@ public class CategoriaController {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
 
-        categoriaService.deletar(id);
+        categoriaService.deletar(id, userLogado);
 
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
@@ -0,0 +1,28 @@
+package com.example.financas.controller;
+
+import com.example.financas.dto.DashboardDTO;
+import com.example.financas.model.User;
+import com.example.financas.service.DashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * Saldo, últimas transações e maiores despesas do mês numa única chamada,
+     * no lugar de /transacoes/saldo, /transacoes e /categorias em sequência.
+     */
+    @GetMapping
+    public ResponseEntity<DashboardDTO> getDashboard(@AuthenticationPrincipal User userLogado) {
+        return ResponseEntity.ok(dashboardService.montar(userLogado));
+    }
+}
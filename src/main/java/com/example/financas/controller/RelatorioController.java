@@ -0,0 +1,52 @@
+package com.example.financas.controller;
+
+import com.example.financas.dto.ResumoMensalDTO;
+import com.example.financas.model.User;
+import com.example.financas.service.ResumoMensalService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/relatorios")
+public class RelatorioController {
+
+    private final ResumoMensalService resumoMensalService;
+
+    public RelatorioController(ResumoMensalService resumoMensalService) {
+        this.resumoMensalService = resumoMensalService;
+    }
+
+    /**
+     * Totais por mês, categoria e tipo entre dois meses (formato yyyy-MM),
+     * lidos do resumo mensal.
+     */
+    @GetMapping("/mensal")
+    public ResponseEntity<List<ResumoMensalDTO>> relatorioMensal(
+            @RequestParam String inicio,
+            @RequestParam String fim,
+            @AuthenticationPrincipal User userLogado) {
+
+        List<ResumoMensalDTO> resumo = resumoMensalService.relatorio(userLogado, parseMes(inicio), parseMes(fim));
+        return ResponseEntity.ok(resumo);
+    }
+
+    @PostMapping("/mensal/reconstruir")
+    public ResponseEntity<Map<String, Integer>> reconstruirRelatorioMensal(@AuthenticationPrincipal User userLogado) {
+        int linhas = resumoMensalService.reconstruir(userLogado);
+        return ResponseEntity.ok(Map.of("linhas", linhas));
+    }
+
+    private static YearMonth parseMes(String mes) {
+        try {
+            return YearMonth.parse(mes);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Mês inválido, use o formato yyyy-MM: " + mes);
+        }
+    }
+}
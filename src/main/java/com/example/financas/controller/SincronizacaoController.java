@@ -0,0 +1,33 @@
+package com.example.financas.controller;
+
+import com.example.financas.dto.SincronizacaoDTO;
+import com.example.financas.model.User;
+import com.example.financas.service.SincronizacaoService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/sync")
+public class SincronizacaoController {
+
+    private final SincronizacaoService sincronizacaoService;
+
+    public SincronizacaoController(SincronizacaoService sincronizacaoService) {
+        this.sincronizacaoService = sincronizacaoService;
+    }
+
+    /**
+     * Alterações desde o cursor devolvido pela chamada anterior (omitido na
+     * primeira sincronização). Repetir enquanto 'temMais' for verdadeiro.
+     */
+    @GetMapping
+    public ResponseEntity<SincronizacaoDTO> sincronizar(
+            @RequestParam(required = false) Long desde,
+            @RequestParam(required = false) Integer limite,
+            @AuthenticationPrincipal User userLogado) {
+
+        SincronizacaoDTO resultado = sincronizacaoService.sincronizar(userLogado, desde, limite);
+        return ResponseEntity.ok(resultado);
+    }
+}
@@ -1,14 +1,37 @@
 package com.example.financas.controller;
 
+import com.example.financas.dto.FormatoExportacao;
+import com.example.financas.dto.FormatoExtrato;
+import com.example.financas.dto.IntervaloSerie;
+import com.example.financas.dto.PaginaTransacoesDTO;
+import com.example.financas.dto.PontoSaldoDTO;
+import com.example.financas.dto.ResultadoBuscaDTO;
+import com.example.financas.dto.ResultadoImportacaoDTO;
+import com.example.financas.dto.ResultadoLoteDTO;
+import com.example.financas.dto.TransacaoResumoDTO;
 import com.example.financas.dto.SaldoDTO;
 import com.example.financas.model.Transacao;
 import com.example.financas.model.User;
+import com.example.financas.service.BuscaService;
+import com.example.financas.service.ExportacaoService;
+import com.example.financas.service.ImportacaoService;
+import com.example.financas.service.SaldoService;
 import com.example.financas.service.TransacaoService;
+import com.example.financas.service.VersaoService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,9 +39,21 @@ import java.util.List;
 public class TransacaoController {
 
     private final TransacaoService transacaoService;
+    private final ExportacaoService exportacaoService;
+    private final ImportacaoService importacaoService;
+    private final BuscaService buscaService;
+    private final SaldoService saldoService;
+    private final VersaoService versaoService;
 
-    public TransacaoController(TransacaoService transacaoService) {
+    public TransacaoController(TransacaoService transacaoService, ExportacaoService exportacaoService,
+            ImportacaoService importacaoService, BuscaService buscaService, SaldoService saldoService,
+            VersaoService versaoService) {
         this.transacaoService = transacaoService;
+        this.exportacaoService = exportacaoService;
+        this.importacaoService = importacaoService;
+        this.buscaService = buscaService;
+        this.saldoService = saldoService;
+        this.versaoService = versaoService;
     }
 
     @PostMapping
@@ -30,11 +65,77 @@ public class TransacaoController {
         return new ResponseEntity<>(novaTransacao, HttpStatus.CREATED);
     }
 
+    @PostMapping("/lote")
+    public ResponseEntity<List<ResultadoLoteDTO>> criarTransacoesEmLote(
+            @RequestBody List<Transacao> transacoes,
+            @AuthenticationPrincipal User userLogado) {
+
+        List<ResultadoLoteDTO> resultados = transacaoService.criarEmLote(transacoes, userLogado);
+        return ResponseEntity.ok(resultados);
+    }
+
     @GetMapping
-    public ResponseEntity<List<Transacao>> listarTransacoesDoUsuario(@AuthenticationPrincipal User userLogado) {
+    public ResponseEntity<List<TransacaoResumoDTO>> listarTransacoesDoUsuario(
+            @AuthenticationPrincipal User userLogado, WebRequest request) {
 
-        List<Transacao> transacoes = transacaoService.listarPorUsuario(userLogado);
-        return ResponseEntity.ok(transacoes);
+        // Só a versão é consultada (por chave primária); se o cliente já tem a atual, 304
+        String etag = VersaoService.etag(versaoService.consultar(userLogado));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        List<TransacaoResumoDTO> transacoes = transacaoService.listarPorUsuario(userLogado);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(transacoes);
+    }
+
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaTransacoesDTO> listarPaginaDoUsuario(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal User userLogado) {
+
+        PaginaTransacoesDTO pagina = transacaoService.listarPagina(userLogado, cursor, size);
+        return ResponseEntity.ok(pagina);
+    }
+
+    @GetMapping("/busca")
+    public ResponseEntity<List<ResultadoBuscaDTO>> buscarTransacoes(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limite,
+            @AuthenticationPrincipal User userLogado) {
+
+        List<ResultadoBuscaDTO> resultados = buscaService.buscar(userLogado, q, limite);
+        return ResponseEntity.ok(resultados);
+    }
+
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarTransacoes(
+            @RequestParam(defaultValue = "ndjson") String formato,
+            @AuthenticationPrincipal User userLogado) {
+
+        FormatoExportacao formatoExportacao = FormatoExportacao.de(formato);
+        StreamingResponseBody corpo = saida -> exportacaoService.exportar(userLogado, formatoExportacao, saida);
+
+        return ResponseEntity.ok()
+                .contentType(formatoExportacao.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transacoes." + formatoExportacao.getExtensao() + "\"")
+                .body(corpo);
+    }
+
+    @PostMapping("/importar")
+    public ResponseEntity<ResultadoImportacaoDTO> importarExtrato(
+            @RequestParam("arquivo") MultipartFile arquivo,
+            @RequestParam(defaultValue = "csv") String formato,
+            @RequestParam(required = false) Long categoriaId,
+            @AuthenticationPrincipal User userLogado) throws IOException {
+
+        FormatoExtrato formatoExtrato = FormatoExtrato.de(formato);
+        try (InputStream entrada = arquivo.getInputStream()) {
+            ResultadoImportacaoDTO resultado = importacaoService.importar(userLogado, formatoExtrato, categoriaId,
+                    entrada);
+            return ResponseEntity.ok(resultado);
+        }
     }
 
     @PutMapping("/{id}")
@@ -58,8 +159,35 @@ public class TransacaoController {
     }
 
     @GetMapping("/saldo")
-    public ResponseEntity<SaldoDTO> getSaldoDoUsuario(@AuthenticationPrincipal User userLogado) {
+    public ResponseEntity<SaldoDTO> getSaldoDoUsuario(@AuthenticationPrincipal User userLogado, WebRequest request) {
+        String etag = VersaoService.etag(versaoService.consultar(userLogado));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
         SaldoDTO saldo = transacaoService.getSaldoPorUsuario(userLogado);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(saldo);
+    }
+
+    @GetMapping("/saldo/serie")
+    public ResponseEntity<List<PontoSaldoDTO>> getSerieDeSaldo(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "mensal") String intervalo,
+            @AuthenticationPrincipal User userLogado) {
+
+        // Padrão: os últimos doze meses até hoje
+        LocalDate dataFinal = fim != null ? fim : LocalDate.now();
+        LocalDate dataInicial = inicio != null ? inicio : dataFinal.minusYears(1).plusDays(1);
+
+        List<PontoSaldoDTO> serie = saldoService.serie(userLogado, dataInicial, dataFinal,
+                IntervaloSerie.de(intervalo));
+        return ResponseEntity.ok(serie);
+    }
+
+    @PostMapping("/saldo/reconstruir")
+    public ResponseEntity<SaldoDTO> reconstruirSaldoDoUsuario(@AuthenticationPrincipal User userLogado) {
+        SaldoDTO saldo = transacaoService.reconstruirSaldo(userLogado);
         return ResponseEntity.ok(saldo);
     }
 }
\ No newline at end of file
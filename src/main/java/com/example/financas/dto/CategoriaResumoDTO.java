@@ -0,0 +1,4 @@
+package com.example.financas.dto;
+
+public record CategoriaResumoDTO(Long id, String nome) {
+}
@@ -0,0 +1,33 @@
+package com.example.financas.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de uma página de transações, ordenada por (data, id).
+ * Trafega para o cliente como um texto opaco em Base64 URL-safe.
+ */
+public record CursorTransacao(LocalDate data, Long id) {
+
+    public String codificar() {
+        String valor = data + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorTransacao decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf('|');
+            if (separador < 0) {
+                throw new IllegalArgumentException("Cursor inválido.");
+            }
+            return new CursorTransacao(
+                    LocalDate.parse(valor.substring(0, separador)),
+                    Long.valueOf(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+    }
+}
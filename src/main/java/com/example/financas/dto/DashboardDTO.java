@@ -0,0 +1,14 @@
+package com.example.financas.dto;
+
+import java.util.List;
+
+/**
+ * Resumo da página inicial. Partes que não responderam a tempo vêm nulas e
+ * com o nome em 'indisponiveis'.
+ */
+public record DashboardDTO(
+        SaldoDTO saldo,
+        List<TransacaoResumoDTO> recentes,
+        List<ResumoMensalDTO> maioresDespesas,
+        List<String> indisponiveis) {
+}
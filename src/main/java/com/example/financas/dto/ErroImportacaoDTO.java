@@ -0,0 +1,4 @@
+package com.example.financas.dto;
+
+public record ErroImportacaoDTO(long linha, String mensagem) {
+}
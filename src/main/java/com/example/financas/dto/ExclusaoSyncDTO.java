@@ -0,0 +1,6 @@
+package com.example.financas.dto;
+
+import com.example.financas.model.TipoEntidade;
+
+public record ExclusaoSyncDTO(TipoEntidade entidade, Long id, long versao) {
+}
@@ -0,0 +1,15 @@
+package com.example.financas.dto;
+
+public enum FormatoExtrato {
+    CSV,
+    OFX;
+
+    public static FormatoExtrato de(String formato) {
+        for (FormatoExtrato valor : values()) {
+            if (valor.name().equalsIgnoreCase(formato)) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Formato de extrato não suportado: " + formato);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.financas.dto;
+
+public enum IntervaloSerie {
+    DIARIO,
+    MENSAL;
+
+    public static IntervaloSerie de(String intervalo) {
+        for (IntervaloSerie valor : values()) {
+            if (valor.name().equalsIgnoreCase(intervalo)) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Intervalo não suportado: " + intervalo);
+    }
+}
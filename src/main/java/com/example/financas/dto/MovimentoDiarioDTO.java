@@ -0,0 +1,10 @@
+package com.example.financas.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Resultado líquido (receitas menos despesas) de um dia.
+ */
+public record MovimentoDiarioDTO(LocalDate data, BigDecimal liquido) {
+}
@@ -0,0 +1,6 @@
+package com.example.financas.dto;
+
+import java.util.List;
+
+public record PaginaTransacoesDTO(List<TransacaoResumoDTO> itens, String next) {
+}
@@ -0,0 +1,7 @@
+package com.example.financas.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record PontoSaldoDTO(LocalDate data, BigDecimal saldo) {
+}
@@ -0,0 +1,4 @@
+package com.example.financas.dto;
+
+public record RefreshRequest(String refreshToken) {
+}
@@ -0,0 +1,4 @@
+package com.example.financas.dto;
+
+public record ResultadoBuscaDTO(TransacaoResumoDTO transacao, double relevancia) {
+}
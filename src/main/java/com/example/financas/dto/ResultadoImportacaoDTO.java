@@ -0,0 +1,11 @@
+package com.example.financas.dto;
+
+import java.util.List;
+
+public record ResultadoImportacaoDTO(
+        long linhasLidas,
+        long importadas,
+        int lotes,
+        long totalErros,
+        List<ErroImportacaoDTO> erros) {
+}
@@ -0,0 +1,16 @@
+package com.example.financas.dto;
+
+/**
+ * Resultado de um item do lote, na mesma posição em que foi enviado.
+ * O status segue a semântica HTTP do endpoint individual (201, 400, 403, 404).
+ */
+public record ResultadoLoteDTO(int indice, int status, Long id, String erro) {
+
+    public static ResultadoLoteDTO criado(int indice, Long id) {
+        return new ResultadoLoteDTO(indice, 201, id, null);
+    }
+
+    public static ResultadoLoteDTO falha(int indice, int status, String erro) {
+        return new ResultadoLoteDTO(indice, status, null, erro);
+    }
+}
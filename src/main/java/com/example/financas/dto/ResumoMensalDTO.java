@@ -0,0 +1,15 @@
+package com.example.financas.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.example.financas.model.TipoTransacao;
+
+public record ResumoMensalDTO(
+        LocalDate mes,
+        Long categoriaId,
+        String categoriaNome,
+        TipoTransacao tipo,
+        BigDecimal total,
+        long quantidade) {
+}
@@ -0,0 +1,15 @@
+package com.example.financas.dto;
+
+import java.util.List;
+
+/**
+ * Alterações desde o cursor do cliente. 'cursor' é a versão a enviar na
+ * próxima chamada; 'temMais' indica que a resposta foi cortada pelo limite.
+ */
+public record SincronizacaoDTO(
+        List<TransacaoSyncDTO> transacoes,
+        List<CategoriaSyncDTO> categorias,
+        List<ExclusaoSyncDTO> exclusoes,
+        long cursor,
+        boolean temMais) {
+}
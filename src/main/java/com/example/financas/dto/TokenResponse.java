@@ -1,4 +1,4 @@
 package com.example.financas.dto;
 
-public record TokenResponse(String token) {
-}
\ No newline at end of file
+public record TokenResponse(String token, String refreshToken) {
+}
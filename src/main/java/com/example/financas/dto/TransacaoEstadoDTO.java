@@ -0,0 +1,28 @@
+package com.example.financas.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.example.financas.model.Categoria;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.Transacao;
+import com.example.financas.model.User;
+
+/**
+ * Colunas da transação necessárias para ajustar saldo, resumo mensal e
+ * índice de busca antes de uma alteração, lidas sem junções.
+ */
+public record TransacaoEstadoDTO(
+        Long id,
+        String descricao,
+        BigDecimal valor,
+        LocalDate data,
+        TipoTransacao tipo,
+        Long categoriaId) {
+
+    public Transacao paraTransacao(User user, Categoria categoria) {
+        Transacao transacao = new Transacao(descricao, valor, data, tipo, user, categoria);
+        transacao.setId(id);
+        return transacao;
+    }
+}
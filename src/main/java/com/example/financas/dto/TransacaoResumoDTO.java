@@ -0,0 +1,32 @@
+package com.example.financas.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.Transacao;
+
+/**
+ * Visão plana de uma transação, sem o usuário e com a categoria reduzida a
+ * id e nome.
+ */
+public record TransacaoResumoDTO(
+        Long id,
+        BigDecimal valor,
+        LocalDate data,
+        String descricao,
+        TipoTransacao tipo,
+        Long categoriaId,
+        String categoriaNome) {
+
+    public static TransacaoResumoDTO de(Transacao transacao) {
+        return new TransacaoResumoDTO(
+                transacao.getId(),
+                transacao.getValor(),
+                transacao.getData(),
+                transacao.getDescricao(),
+                transacao.getTipo(),
+                transacao.getCategoria().getId(),
+                transacao.getCategoria().getNome());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.financas.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.example.financas.model.TipoTransacao;
+
+public record TransacaoSyncDTO(
+        Long id,
+        BigDecimal valor,
+        LocalDate data,
+        String descricao,
+        TipoTransacao tipo,
+        Long categoriaId,
+        long versao) {
+}
@@ -0,0 +1,48 @@
+package com.example.financas.filter;
+
+import com.example.financas.config.ContadorSql;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Abre a contagem de SQL da requisição e, no fim, loga as que passaram do
+ * orçamento de comandos. Registrado pelo ContagemSqlConfig, só no modo de
+ * diagnóstico.
+ */
+public class ContagemSqlFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ContagemSqlFilter.class);
+
+    private final int orcamentoComandos;
+
+    public ContagemSqlFilter(int orcamentoComandos) {
+        this.orcamentoComandos = orcamentoComandos;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long inicio = System.nanoTime();
+        ContadorSql.Contagem contagem = ContadorSql.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ContadorSql.encerrar(contagem);
+            if (contagem.getComandos() > orcamentoComandos) {
+                log.warn("{} {} executou {} comandos SQL ({} ms de banco, {} ms no total); orçamento: {}",
+                        request.getMethod(), request.getRequestURI(), contagem.getComandos(),
+                        String.format("%.1f", contagem.getMillis()),
+                        (System.nanoTime() - inicio) / 1_000_000, orcamentoComandos);
+                log.debug("Comandos de {} {}: {}", request.getMethod(), request.getRequestURI(), contagem.getSql());
+            }
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.financas.filter;
 
+import com.example.financas.config.Metricas;
+import com.example.financas.model.User;
 import com.example.financas.service.TokenService;
 import com.example.financas.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,55 +14,109 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 
 @Component
 public class JwtTokenFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final MeterRegistry meterRegistry;
+    private final Timer tempoAutenticacao;
 
-    public JwtTokenFilter(TokenService tokenService, UserDetailsServiceImpl userDetailsService) {
+    public JwtTokenFilter(TokenService tokenService, UserDetailsServiceImpl userDetailsService,
+            MeterRegistry meterRegistry) {
         this.tokenService = tokenService;
         this.userDetailsService = userDetailsService;
+        this.meterRegistry = meterRegistry;
+        this.tempoAutenticacao = Timer.builder(Metricas.AUTH_FILTRO).register(meterRegistry);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
+        // Mede só a autenticação; o restante da cadeia fica em http.server.requests
+        tempoAutenticacao.record(() -> autenticar(request));
+
+        // Continua a cadeia de filtros
+        filterChain.doFilter(request, response);
+    }
+
+    private void autenticar(HttpServletRequest request) {
         final String authHeader = request.getHeader("Authorization");
-        String username = null;
-        String jwt = null;
 
         // Verifica o token no cabeçalho "Bearer "
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
-            username = tokenService.validateToken(jwt);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return;
+        }
+
+        Claims claims = tokenService.lerClaims(authHeader.substring(7));
+        if (claims == null || claims.getSubject() == null) {
+            registrarFalha("token_invalido");
+            return;
+        }
+
+        // Refresh tokens só servem para /auth/refresh
+        if (TokenService.isRefreshToken(claims)) {
+            registrarFalha("refresh_token");
+            return;
         }
 
         // Se o token for válido e o usuário não estiver autenticado no contexto
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+
+            UserDetails userDetails = montarPrincipal(claims);
 
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            if (userDetails == null) {
+                registrarFalha("usuario_invalido");
+                return;
+            }
+
+            // Cria o objeto de autenticação para o Spring Security
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
+
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+            // Configura o usuário no contexto de segurança
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+    }
 
-            if (userDetails != null) {
-                // Cria o objeto de autenticação para o Spring Security
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+    private void registrarFalha(String motivo) {
+        meterRegistry.counter(Metricas.AUTH_FALHAS, Metricas.TAG_MOTIVO, motivo).increment();
+    }
 
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+    /**
+     * Monta o principal a partir das claims do token. A assinatura já garante
+     * que id e username foram emitidos por nós, então o usuário só é buscado no
+     * banco para tokens antigos, emitidos antes de carregarem o id.
+     */
+    private UserDetails montarPrincipal(Claims claims) {
+        String userId = claims.get(TokenService.CLAIM_USER_ID, String.class);
 
-                // Configura o usuário no contexto de segurança
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        if (userId == null) {
+            try {
+                return userDetailsService.loadUserByUsername(claims.getSubject());
+            } catch (UsernameNotFoundException e) {
+                return null;
             }
         }
 
-        // Continua a cadeia de filtros
-        filterChain.doFilter(request, response);
+        try {
+            // Referência ao usuário (sem senha); basta o id para as consultas e associações
+            User user = new User(claims.getSubject(), null);
+            user.setId(UUID.fromString(userId));
+            return user;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
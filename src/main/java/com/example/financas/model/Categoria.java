@@ -2,26 +2,43 @@ package com.example.financas.model;
 
 import java.util.Objects;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_categoria_user_versao", columnList = "user_id, versao")
+})
 public class Categoria {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categoria_seq")
+    @SequenceGenerator(name = "categoria_seq", sequenceName = "categoria_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
 
-    @ManyToOne
+    // Nunca serializado: evita expor o usuário (e o hash da senha) nas respostas
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // Versão da última escrita, da sequência por usuário (ver VersaoService)
+    @Column(nullable = false)
+    private long versao;
+
     public Categoria() {
         super();
     }
@@ -74,4 +91,12 @@ public class Categoria {
     public void setUser(User user) {
         this.user = user;
     }
-}
\ No newline at end of file
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(long versao) {
+        this.versao = versao;
+    }
+}
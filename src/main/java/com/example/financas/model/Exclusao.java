@@ -0,0 +1,74 @@
+package com.example.financas.model;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Registro de exclusão (tombstone) de uma transação ou categoria, para que
+ * clientes sincronizados saibam o que remover. Recebe uma versão da mesma
+ * sequência por usuário das linhas alteradas.
+ */
+@Entity
+@Table(name = "exclusao", indexes = {
+        @Index(name = "idx_exclusao_user_versao", columnList = "user_id, versao")
+})
+public class Exclusao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exclusao_seq")
+    @SequenceGenerator(name = "exclusao_seq", sequenceName = "exclusao_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoEntidade entidade;
+
+    @Column(name = "entidade_id", nullable = false)
+    private Long entidadeId;
+
+    @Column(nullable = false)
+    private long versao;
+
+    public Exclusao() {
+    }
+
+    public Exclusao(UUID userId, TipoEntidade entidade, Long entidadeId, long versao) {
+        this.userId = userId;
+        this.entidade = entidade;
+        this.entidadeId = entidadeId;
+        this.versao = versao;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public TipoEntidade getEntidade() {
+        return entidade;
+    }
+
+    public Long getEntidadeId() {
+        return entidadeId;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+}
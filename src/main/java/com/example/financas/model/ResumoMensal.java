@@ -0,0 +1,93 @@
+package com.example.financas.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Total de um usuário por mês, categoria e tipo. Mantido a cada escrita de
+ * transação para que os relatórios não precisem agrupar a tabela transacao.
+ */
+@Entity
+@Table(name = "resumo_mensal", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_resumo_mensal_chave", columnNames = { "user_id", "mes", "categoria_id", "tipo" })
+})
+public class ResumoMensal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resumo_mensal_seq")
+    @SequenceGenerator(name = "resumo_mensal_seq", sequenceName = "resumo_mensal_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    // Primeiro dia do mês
+    @Column(nullable = false)
+    private LocalDate mes;
+
+    @Column(name = "categoria_id", nullable = false)
+    private Long categoriaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoTransacao tipo;
+
+    @Column(nullable = false)
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private long quantidade;
+
+    public ResumoMensal() {
+    }
+
+    public ResumoMensal(UUID userId, LocalDate mes, Long categoriaId, TipoTransacao tipo, BigDecimal total,
+            long quantidade) {
+        this.userId = userId;
+        this.mes = mes;
+        this.categoriaId = categoriaId;
+        this.tipo = tipo;
+        this.total = total;
+        this.quantidade = quantidade;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public LocalDate getMes() {
+        return mes;
+    }
+
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+
+    public TipoTransacao getTipo() {
+        return tipo;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.financas.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Totais de receitas e despesas de um usuário, mantidos incrementalmente a
+ * cada escrita de transação para que o saldo seja uma leitura por chave.
+ */
+@Entity
+@Table(name = "saldo_usuario")
+public class SaldoUsuario {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(nullable = false)
+    private BigDecimal receitas;
+
+    @Column(nullable = false)
+    private BigDecimal despesas;
+
+    public SaldoUsuario() {
+    }
+
+    public SaldoUsuario(UUID userId, BigDecimal receitas, BigDecimal despesas) {
+        this.userId = userId;
+        this.receitas = receitas;
+        this.despesas = despesas;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public BigDecimal getReceitas() {
+        return receitas;
+    }
+
+    public void setReceitas(BigDecimal receitas) {
+        this.receitas = receitas;
+    }
+
+    public BigDecimal getDespesas() {
+        return despesas;
+    }
+
+    public void setDespesas(BigDecimal despesas) {
+        this.despesas = despesas;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.financas.model;
+
+public enum TipoEntidade {
+    TRANSACAO,
+    CATEGORIA
+}
@@ -3,21 +3,33 @@ package com.example.financas.model;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_transacao_user_data_id", columnList = "user_id, data, id"),
+        @Index(name = "idx_transacao_user_tipo_valor", columnList = "user_id, tipo, valor"),
+        @Index(name = "idx_transacao_user_versao", columnList = "user_id, versao")
+})
 public class Transacao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transacao_seq")
+    @SequenceGenerator(name = "transacao_seq", sequenceName = "transacao_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -36,10 +48,16 @@ public class Transacao {
     @JoinColumn(name = "categoria_id", nullable = false)
     private Categoria categoria;
 
-    @ManyToOne
+    // Nunca serializado: evita expor o usuário (e o hash da senha) nas respostas
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // Versão da última escrita, da sequência por usuário (ver VersaoService)
+    @Column(nullable = false)
+    private long versao;
+
     public Transacao() {
     }
 
@@ -114,4 +132,12 @@ public class Transacao {
     public void setUser(User user) {
         this.user = user;
     }
-}
\ No newline at end of file
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(long versao) {
+        this.versao = versao;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.financas.model;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Versão dos dados de um usuário, incrementada a cada escrita em transações
+ * ou categorias. Usada como ETag nas leituras.
+ */
+@Entity
+@Table(name = "versao_usuario")
+public class VersaoUsuario {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(nullable = false)
+    private long versao;
+
+    public VersaoUsuario() {
+    }
+
+    public VersaoUsuario(UUID userId, long versao) {
+        this.userId = userId;
+        this.versao = versao;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+}
@@ -3,8 +3,12 @@ package com.example.financas.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import com.example.financas.dto.CategoriaResumoDTO;
+import com.example.financas.dto.CategoriaSyncDTO;
 import com.example.financas.model.Categoria;
 import com.example.financas.model.User;
 
@@ -14,4 +18,11 @@ public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
     Optional<Categoria> findByNome(String nome);
 
     List<Categoria> findByUser(User user);
+
+    @Query("SELECT new com.example.financas.dto.CategoriaResumoDTO(c.id, c.nome) FROM Categoria c WHERE c.user = :user")
+    List<CategoriaResumoDTO> findResumoByUser(User user);
+
+    @Query("SELECT new com.example.financas.dto.CategoriaSyncDTO(c.id, c.nome, c.versao) FROM Categoria c"
+            + " WHERE c.user = :user AND c.versao > :desde AND c.versao <= :ate ORDER BY c.versao ASC")
+    List<CategoriaSyncDTO> findAlteradasDesde(User user, long desde, long ate, Limit limit);
 }
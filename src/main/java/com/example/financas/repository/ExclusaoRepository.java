@@ -0,0 +1,20 @@
+package com.example.financas.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.example.financas.dto.ExclusaoSyncDTO;
+import com.example.financas.model.Exclusao;
+
+@Repository
+public interface ExclusaoRepository extends JpaRepository<Exclusao, Long> {
+
+    @Query("SELECT new com.example.financas.dto.ExclusaoSyncDTO(e.entidade, e.entidadeId, e.versao) FROM Exclusao e"
+            + " WHERE e.userId = :userId AND e.versao > :desde AND e.versao <= :ate ORDER BY e.versao ASC")
+    List<ExclusaoSyncDTO> findDesde(UUID userId, long desde, long ate, Limit limit);
+}
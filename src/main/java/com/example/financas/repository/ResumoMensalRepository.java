@@ -0,0 +1,47 @@
+package com.example.financas.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.example.financas.dto.ResumoMensalDTO;
+import com.example.financas.model.ResumoMensal;
+import com.example.financas.model.TipoTransacao;
+
+@Repository
+public interface ResumoMensalRepository extends JpaRepository<ResumoMensal, Long> {
+
+    /**
+     * Soma o delta na linha da chave num único UPDATE atômico.
+     * Retorna 0 se a linha ainda não existe.
+     */
+    @Modifying
+    @Query("UPDATE ResumoMensal r SET r.total = r.total + :total, r.quantidade = r.quantidade + :quantidade"
+            + " WHERE r.userId = :userId AND r.mes = :mes AND r.categoriaId = :categoriaId AND r.tipo = :tipo")
+    int somar(UUID userId, LocalDate mes, Long categoriaId, TipoTransacao tipo, BigDecimal total, long quantidade);
+
+    @Modifying
+    @Query("DELETE FROM ResumoMensal r WHERE r.userId = :userId")
+    int deleteByUserId(UUID userId);
+
+    @Query("SELECT new com.example.financas.dto.ResumoMensalDTO(r.mes, r.categoriaId, c.nome, r.tipo, r.total,"
+            + " r.quantidade)"
+            + " FROM ResumoMensal r JOIN Categoria c ON c.id = r.categoriaId"
+            + " WHERE r.userId = :userId AND r.mes BETWEEN :inicio AND :fim AND r.quantidade > 0"
+            + " ORDER BY r.mes ASC, c.nome ASC, r.tipo ASC")
+    List<ResumoMensalDTO> findRelatorio(UUID userId, LocalDate inicio, LocalDate fim);
+
+    @Query("SELECT new com.example.financas.dto.ResumoMensalDTO(r.mes, r.categoriaId, c.nome, r.tipo, r.total,"
+            + " r.quantidade)"
+            + " FROM ResumoMensal r JOIN Categoria c ON c.id = r.categoriaId"
+            + " WHERE r.userId = :userId AND r.mes = :mes AND r.tipo = :tipo AND r.quantidade > 0"
+            + " ORDER BY r.total DESC, c.nome ASC")
+    List<ResumoMensalDTO> findMaioresDoMes(UUID userId, LocalDate mes, TipoTransacao tipo, Limit limite);
+}
@@ -0,0 +1,24 @@
+package com.example.financas.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.example.financas.model.SaldoUsuario;
+
+@Repository
+public interface SaldoUsuarioRepository extends JpaRepository<SaldoUsuario, UUID> {
+
+    /**
+     * Soma os deltas no próprio banco, num único UPDATE atômico.
+     * Retorna 0 se o usuário ainda não tem linha de saldo.
+     */
+    @Modifying
+    @Query("UPDATE SaldoUsuario s SET s.receitas = s.receitas + :receitas, s.despesas = s.despesas + :despesas"
+            + " WHERE s.userId = :userId")
+    int somar(UUID userId, BigDecimal receitas, BigDecimal despesas);
+}
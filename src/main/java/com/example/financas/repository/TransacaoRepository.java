@@ -1,17 +1,32 @@
 package com.example.financas.repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.example.financas.dto.MovimentoDiarioDTO;
+import com.example.financas.dto.SaldoDTO;
+import com.example.financas.dto.TransacaoEstadoDTO;
+import com.example.financas.dto.TransacaoResumoDTO;
+import com.example.financas.dto.TransacaoSyncDTO;
+import com.example.financas.model.Categoria;
 import com.example.financas.model.TipoTransacao;
 import com.example.financas.model.Transacao;
 import com.example.financas.model.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface TransacaoRepository extends JpaRepository<Transacao, Long> {
     List<Transacao> findByTipo(TipoTransacao tipo);
@@ -21,9 +36,124 @@ public interface TransacaoRepository extends JpaRepository<Transacao, Long> {
     Transacao findByIdAndUser(Long id, User user);
 
     /**
-     * Calcula a soma de 'valor' para um determinado 'tipo' (RECEITA ou DESPESA)
-     * e para um 'user' específico.
+     * Calcula receitas, despesas e saldo de um 'user' numa única passada,
+     * com agregação condicional. Coberta pelo índice (user_id, tipo, valor).
+     */
+    @Query("SELECT new com.example.financas.dto.SaldoDTO("
+            + " COALESCE(SUM(CASE WHEN t.tipo = com.example.financas.model.TipoTransacao.RECEITA"
+            + " THEN t.valor ELSE 0 END), 0),"
+            + " COALESCE(SUM(CASE WHEN t.tipo = com.example.financas.model.TipoTransacao.DESPESA"
+            + " THEN t.valor ELSE 0 END), 0),"
+            + " COALESCE(SUM(CASE WHEN t.tipo = com.example.financas.model.TipoTransacao.RECEITA"
+            + " THEN t.valor ELSE -t.valor END), 0))"
+            + " FROM Transacao t WHERE t.user = :user")
+    SaldoDTO calcularSaldo(User user);
+
+    /**
+     * Primeira página da paginação por cursor, ordenada por (data, id).
+     */
+    @Query("SELECT new com.example.financas.dto.TransacaoResumoDTO(t.id, t.valor, t.data, t.descricao, t.tipo,"
+            + " c.id, c.nome) FROM Transacao t JOIN t.categoria c WHERE t.user = :user ORDER BY t.data ASC, t.id ASC")
+    List<TransacaoResumoDTO> findPrimeiraPagina(User user, Limit limit);
+
+    /**
+     * Páginas seguintes: continua estritamente depois de (data, id), usando o
+     * índice (user_id, data, id) em vez de OFFSET.
+     */
+    @Query("SELECT new com.example.financas.dto.TransacaoResumoDTO(t.id, t.valor, t.data, t.descricao, t.tipo,"
+            + " c.id, c.nome) FROM Transacao t JOIN t.categoria c WHERE t.user = :user"
+            + " AND (t.data > :data OR (t.data = :data AND t.id > :id))"
+            + " ORDER BY t.data ASC, t.id ASC")
+    List<TransacaoResumoDTO> findPaginaApos(User user, LocalDate data, Long id, Limit limit);
+
+    /**
+     * As transações mais recentes do usuário, da mais nova para a mais antiga,
+     * lendo o índice (user_id, data, id) de trás para frente.
+     */
+    @Query("SELECT new com.example.financas.dto.TransacaoResumoDTO(t.id, t.valor, t.data, t.descricao, t.tipo,"
+            + " c.id, c.nome) FROM Transacao t JOIN t.categoria c WHERE t.user = :user ORDER BY t.data DESC, t.id DESC")
+    List<TransacaoResumoDTO> findRecentes(User user, Limit limit);
+
+    /**
+     * Histórico completo do usuário como cursor somente-avanço, para exportação.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transacao t JOIN FETCH t.categoria WHERE t.user = :user ORDER BY t.data ASC, t.id ASC")
+    Stream<Transacao> streamByUser(User user);
+
+    /**
+     * Agrupa as transações do usuário por mês, categoria e tipo; usado apenas
+     * para reconstruir o resumo mensal. Colunas: ano, mês, categoria_id, tipo,
+     * total, quantidade.
+     */
+    @Query("SELECT YEAR(t.data), MONTH(t.data), t.categoria.id, t.tipo, SUM(t.valor), COUNT(t)"
+            + " FROM Transacao t WHERE t.user = :user"
+            + " GROUP BY YEAR(t.data), MONTH(t.data), t.categoria.id, t.tipo")
+    List<Object[]> agruparPorMesCategoriaETipo(User user);
+
+    /**
+     * Todas as transações do usuário como projeção plana, sem hidratar
+     * entidades nem carregar o usuário.
+     */
+    @Query("SELECT new com.example.financas.dto.TransacaoResumoDTO(t.id, t.valor, t.data, t.descricao, t.tipo,"
+            + " c.id, c.nome) FROM Transacao t JOIN t.categoria c WHERE t.user = :user")
+    List<TransacaoResumoDTO> findResumoByUser(User user);
+
+    /**
+     * Saldo acumulado de todas as transações anteriores a 'data'.
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.tipo = com.example.financas.model.TipoTransacao.RECEITA"
+            + " THEN t.valor ELSE -t.valor END), 0)"
+            + " FROM Transacao t WHERE t.user = :user AND t.data < :data")
+    BigDecimal calcularSaldoAntesDe(User user, LocalDate data);
+
+    /**
+     * Resultado líquido por dia no intervalo, em ordem de data, lido como
+     * cursor para a série de saldo ser acumulada numa única passada.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.financas.dto.MovimentoDiarioDTO(t.data,"
+            + " SUM(CASE WHEN t.tipo = com.example.financas.model.TipoTransacao.RECEITA"
+            + " THEN t.valor ELSE -t.valor END))"
+            + " FROM Transacao t WHERE t.user = :user AND t.data BETWEEN :inicio AND :fim"
+            + " GROUP BY t.data ORDER BY t.data ASC")
+    Stream<MovimentoDiarioDTO> streamMovimentoDiario(User user, LocalDate inicio, LocalDate fim);
+
+    /**
+     * Estado atual da transação, se pertencer ao usuário. Lê só as colunas da
+     * própria tabela, sem carregar categoria e usuário.
+     */
+    @Query("SELECT new com.example.financas.dto.TransacaoEstadoDTO(t.id, t.descricao, t.valor, t.data, t.tipo,"
+            + " t.categoria.id) FROM Transacao t WHERE t.id = :id AND t.user = :user")
+    Optional<TransacaoEstadoDTO> findEstado(Long id, User user);
+
+    /**
+     * Atualiza a transação num único comando, restrito ao dono. Retorna o
+     * número de linhas alteradas: 0 se ela não existe ou não é do usuário.
+     */
+    @Modifying
+    @Query("UPDATE Transacao t SET t.descricao = :descricao, t.valor = :valor, t.data = :data, t.tipo = :tipo,"
+            + " t.categoria = :categoria, t.versao = :versao WHERE t.id = :id AND t.user = :user")
+    int atualizar(Long id, User user, String descricao, BigDecimal valor, LocalDate data, TipoTransacao tipo,
+            Categoria categoria, long versao);
+
+    @Modifying
+    @Query("DELETE FROM Transacao t WHERE t.id = :id AND t.user = :user")
+    int excluir(Long id, User user);
+
+    /**
+     * Transações escritas entre as versões 'desde' (exclusive) e 'ate', em
+     * ordem de versão, pelo índice (user_id, versao).
      */
-    @Query("SELECT SUM(t.valor) FROM Transacao t WHERE t.tipo = :tipo AND t.user = :user")
-    Optional<BigDecimal> sumValorByTipoAndUser(TipoTransacao tipo, User user);
+    @Query("SELECT new com.example.financas.dto.TransacaoSyncDTO(t.id, t.valor, t.data, t.descricao, t.tipo,"
+            + " t.categoria.id, t.versao) FROM Transacao t"
+            + " WHERE t.user = :user AND t.versao > :desde AND t.versao <= :ate ORDER BY t.versao ASC")
+    List<TransacaoSyncDTO> findAlteradasDesde(User user, long desde, long ate, Limit limit);
 }
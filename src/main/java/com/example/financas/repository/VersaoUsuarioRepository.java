@@ -0,0 +1,28 @@
+package com.example.financas.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.example.financas.model.VersaoUsuario;
+
+@Repository
+public interface VersaoUsuarioRepository extends JpaRepository<VersaoUsuario, UUID> {
+
+    /**
+     * Avança a versão em 'quantidade' num único UPDATE atômico, que mantém a
+     * linha bloqueada até o fim da transação. Retorna 0 se o usuário ainda não
+     * tem linha de versão.
+     */
+    @Modifying
+    @Query("UPDATE VersaoUsuario v SET v.versao = v.versao + :quantidade WHERE v.userId = :userId")
+    int avancar(UUID userId, long quantidade);
+
+    // Consulta escalar: lê o valor do banco, não o da entidade no contexto de persistência
+    @Query("SELECT v.versao FROM VersaoUsuario v WHERE v.userId = :userId")
+    Optional<Long> buscarVersao(UUID userId);
+}
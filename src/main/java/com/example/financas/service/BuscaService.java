@@ -0,0 +1,174 @@
+package com.example.financas.service;
+
+import com.example.financas.dto.ResultadoBuscaDTO;
+import com.example.financas.dto.TransacaoResumoDTO;
+import com.example.financas.model.Transacao;
+import com.example.financas.model.User;
+import com.example.financas.repository.TransacaoRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Busca textual na descrição das transações. Cada usuário tem um índice
+ * invertido em memória, montado na primeira busca e mantido pelas escritas
+ * depois do commit. Usuários inativos saem do cache e têm o índice refeito
+ * quando voltarem a buscar.
+ */
+@Service
+public class BuscaService {
+
+    private static final int LIMITE_MAXIMO = 100;
+
+    // Cargas seguidas invalidadas por escritas antes de desistir de guardar o índice
+    static final int MAXIMO_TENTATIVAS = 3;
+
+    private final TransacaoRepository transacaoRepository;
+    private final Cache<UUID, IndiceInvertido> indices;
+
+    // Conta as escritas por usuário para detectar commits durante a montagem.
+    // Só existe enquanto o usuário tem índice no cache ou uma montagem em curso.
+    private final ConcurrentMap<UUID, AtomicLong> escritas = new ConcurrentHashMap<>();
+
+    public BuscaService(TransacaoRepository transacaoRepository,
+            @Value("${busca.indices.maximo-usuarios:1000}") long maximoUsuarios,
+            @Value("${busca.indices.expiracao:PT30M}") Duration expiracao,
+            MeterRegistry meterRegistry) {
+        this.transacaoRepository = transacaoRepository;
+        this.indices = Caffeine.newBuilder()
+                .maximumSize(maximoUsuarios)
+                .expireAfterAccess(expiracao)
+                .recordStats()
+                // Na própria thread, para o contador sair junto com o índice
+                .executor(Runnable::run)
+                .removalListener((UUID id, IndiceInvertido indice, RemovalCause causa) -> {
+                    if (id != null && causa != RemovalCause.REPLACED) {
+                        escritas.remove(id);
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indices, "indicesBusca");
+    }
+
+    @Transactional(readOnly = true)
+    public List<ResultadoBuscaDTO> buscar(User userLogado, String consulta, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        List<String> termos = Tokenizador.termos(consulta);
+        if (termos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um termo para a busca.");
+        }
+
+        IndiceInvertido indice = indices.getIfPresent(userLogado.getId());
+        if (indice == null) {
+            indice = montar(userLogado);
+        }
+        return indice.buscar(termos, limite);
+    }
+
+    public void registrarAlteracao(User user, Transacao transacao) {
+        TransacaoResumoDTO documento = TransacaoResumoDTO.de(transacao);
+        aposCommit(user.getId(), indice -> indice.indexar(documento));
+    }
+
+    public void registrarAlteracoes(User user, Collection<Transacao> transacoes) {
+        List<TransacaoResumoDTO> documentos = transacoes.stream().map(TransacaoResumoDTO::de).toList();
+        aposCommit(user.getId(), indice -> documentos.forEach(indice::indexar));
+    }
+
+    public void registrarExclusao(User user, Long id) {
+        aposCommit(user.getId(), indice -> indice.remover(id));
+    }
+
+    /**
+     * Descarta o índice do usuário; usado quando algo que ele copia, como o
+     * nome de uma categoria, muda.
+     */
+    public void invalidar(User user) {
+        aposCommit(user.getId(), indice -> indices.invalidate(user.getId()));
+    }
+
+    /**
+     * Carrega as transações e monta o índice. Se alguma escrita do usuário
+     * for confirmada durante a carga, carrega de novo para não perdê-la; depois
+     * de {@link #MAXIMO_TENTATIVAS} cargas, devolve a última sem guardá-la, para
+     * que um usuário escrevendo sem parar não prenda a busca em recargas.
+     * A consulta roda fora do cache: dentro de Cache.get ela seguraria o
+     * lock (synchronized) do mapa durante o JDBC, o que prende a thread
+     * virtual à thread do sistema no modo com threads virtuais.
+     */
+    private IndiceInvertido montar(User user) {
+        UUID id = user.getId();
+        IndiceInvertido indice = null;
+        AtomicLong contador = null;
+        for (int tentativa = 0; tentativa < MAXIMO_TENTATIVAS; tentativa++) {
+            contador = escritas.computeIfAbsent(id, chave -> new AtomicLong());
+            long antes = contador.get();
+            indice = new IndiceInvertido();
+            transacaoRepository.findResumoByUser(user).forEach(indice::indexar);
+            if (!inalterado(id, contador, antes)) {
+                continue;
+            }
+            IndiceInvertido existente = indices.asMap().putIfAbsent(id, indice);
+            if (existente != null) {
+                return existente;
+            }
+            if (inalterado(id, contador, antes)) {
+                return indice;
+            }
+            // Uma escrita chegou entre a carga e a publicação: descarta e refaz
+            indices.asMap().remove(id, indice);
+        }
+        // Sem índice no cache, o contador não tem mais o que proteger
+        if (indices.getIfPresent(id) == null) {
+            escritas.remove(id, contador);
+        }
+        return indice;
+    }
+
+    // O contador pode ter sido removido junto com um índice expirado; aí conta como escrita
+    private boolean inalterado(UUID id, AtomicLong contador, long antes) {
+        return contador.get() == antes && escritas.get(id) == contador;
+    }
+
+    private void aposCommit(UUID userId, Consumer<IndiceInvertido> alteracao) {
+        Runnable aplicar = () -> {
+            AtomicLong contador = escritas.get(userId);
+            if (contador != null) {
+                contador.incrementAndGet();
+            }
+            IndiceInvertido indice = indices.getIfPresent(userId);
+            if (indice != null) {
+                alteracao.accept(indice);
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar.run();
+                }
+            });
+        } else {
+            aplicar.run();
+        }
+    }
+}
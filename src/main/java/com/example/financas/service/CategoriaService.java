@@ -1,31 +1,62 @@
 package com.example.financas.service;
 
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import com.example.financas.config.CacheConfig;
+import com.example.financas.config.Metricas;
+import com.example.financas.dto.CategoriaResumoDTO;
 import com.example.financas.model.Categoria;
+import com.example.financas.model.TipoEntidade;
 import com.example.financas.model.User;
 import com.example.financas.repository.CategoriaRepository;
 
 @Service
 @Transactional
+@Timed(Metricas.SERVICO)
 public class CategoriaService {
 
     private final CategoriaRepository categoriaRepository;
+    private final BuscaService buscaService;
+    private final VersaoService versaoService;
 
-    public CategoriaService(CategoriaRepository categoriaRepository) {
+    public CategoriaService(CategoriaRepository categoriaRepository, BuscaService buscaService,
+            VersaoService versaoService) {
         this.categoriaRepository = categoriaRepository;
+        this.buscaService = buscaService;
+        this.versaoService = versaoService;
     }
 
-    public List<Categoria> listar(User user) {
-        return categoriaRepository.findByUser(user);
+    @Cacheable(cacheNames = CacheConfig.CATEGORIAS, key = "#user.id")
+    @Transactional(readOnly = true)
+    public List<CategoriaResumoDTO> listar(User user) {
+        return categoriaRepository.findResumoByUser(user);
+    }
+
+    /**
+     * Categorias do usuário indexadas por id. Usado para validar a posse da
+     * categoria nas escritas de transação sem consultar o banco; o cache é
+     * descartado junto com a listagem sempre que uma categoria muda.
+     */
+    @Cacheable(cacheNames = CacheConfig.CATEGORIAS_POR_ID, key = "#user.id")
+    @Transactional(readOnly = true)
+    public Map<Long, CategoriaResumoDTO> categoriasPorId(User user) {
+        return categoriaRepository.findResumoByUser(user).stream()
+                .collect(Collectors.toUnmodifiableMap(CategoriaResumoDTO::id, Function.identity()));
     }
 
     public Optional<Categoria> buscarPorId(Long id) {
         return categoriaRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = { CacheConfig.CATEGORIAS, CacheConfig.CATEGORIAS_POR_ID }, key = "#user.id")
     public Categoria salvar(Categoria categoria, User user) {
         if (categoria.getNome() == null || categoria.getNome().trim().isEmpty()) {
             throw new IllegalArgumentException("O nome da categoria não pode ser vazio.");
@@ -33,10 +64,19 @@ public class CategoriaService {
 
         categoria.setUser(user);
 
+        if (categoria.getId() != null) {
+            // O índice de busca guarda o nome da categoria de cada transação
+            buscaService.invalidar(user);
+        }
+
+        categoria.setVersao(versaoService.incrementar(user));
         return categoriaRepository.save(categoria);
     }
 
-    public void deletar(Long id) {
+    @CacheEvict(cacheNames = { CacheConfig.CATEGORIAS, CacheConfig.CATEGORIAS_POR_ID }, key = "#user.id")
+    public void deletar(Long id, User user) {
+        long versao = versaoService.incrementar(user);
         categoriaRepository.deleteById(id);
+        versaoService.registrarExclusao(user, TipoEntidade.CATEGORIA, id, versao);
     }
 }
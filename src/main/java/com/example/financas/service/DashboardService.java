@@ -0,0 +1,116 @@
+package com.example.financas.service;
+
+import com.example.financas.config.DashboardConfig;
+import com.example.financas.dto.DashboardDTO;
+import com.example.financas.dto.ResumoMensalDTO;
+import com.example.financas.dto.SaldoDTO;
+import com.example.financas.dto.TransacaoResumoDTO;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compõe o dashboard a partir de leituras independentes feitas em paralelo.
+ * Cada parte roda na própria transação de leitura do serviço que a atende;
+ * o usuário é passado explicitamente porque o contexto de segurança não
+ * acompanha a thread do executor.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
+    static final String SALDO = "saldo";
+    static final String RECENTES = "recentes";
+    static final String MAIORES_DESPESAS = "maioresDespesas";
+
+    private final SaldoService saldoService;
+    private final TransacaoService transacaoService;
+    private final ResumoMensalService resumoMensalService;
+    private final Executor dashboardExecutor;
+    private final Duration timeout;
+    private final int quantidadeRecentes;
+    private final int quantidadeCategorias;
+
+    public DashboardService(SaldoService saldoService, TransacaoService transacaoService,
+            ResumoMensalService resumoMensalService,
+            @Qualifier(DashboardConfig.EXECUTOR_DASHBOARD) Executor dashboardExecutor,
+            @Value("${dashboard.timeout:PT2S}") Duration timeout,
+            @Value("${dashboard.recentes:10}") int quantidadeRecentes,
+            @Value("${dashboard.categorias:5}") int quantidadeCategorias) {
+        this.saldoService = saldoService;
+        this.transacaoService = transacaoService;
+        this.resumoMensalService = resumoMensalService;
+        this.dashboardExecutor = dashboardExecutor;
+        this.timeout = timeout;
+        this.quantidadeRecentes = quantidadeRecentes;
+        this.quantidadeCategorias = quantidadeCategorias;
+    }
+
+    /**
+     * Dispara as partes juntas e só retorna quando todas terminaram ou
+     * estouraram o próprio limite de tempo, então a resposta leva mais ou
+     * menos o tempo da parte mais lenta. Uma parte que falha, estoura o tempo
+     * ou é recusada pelo executor sai como indisponível sem derrubar as
+     * outras. A consulta que estourou não é interrompida (interromper uma
+     * thread no meio do JDBC pode invalidar a conexão); o resultado dela só é
+     * descartado, e o executor limitado impede que isso se acumule.
+     */
+    public DashboardDTO montar(User user) {
+        YearMonth mesAtual = YearMonth.now();
+
+        CompletableFuture<SaldoDTO> saldo = parte(SALDO, () -> saldoService.consultar(user));
+        CompletableFuture<List<TransacaoResumoDTO>> recentes = parte(RECENTES,
+                () -> transacaoService.listarRecentes(user, quantidadeRecentes));
+        CompletableFuture<List<ResumoMensalDTO>> maioresDespesas = parte(MAIORES_DESPESAS,
+                () -> resumoMensalService.maioresCategorias(user, mesAtual, TipoTransacao.DESPESA,
+                        quantidadeCategorias));
+
+        // As partes já tratam as próprias falhas, então o join não lança
+        CompletableFuture.allOf(saldo, recentes, maioresDespesas).join();
+
+        List<String> indisponiveis = new ArrayList<>();
+        return new DashboardDTO(
+                resultado(saldo, SALDO, indisponiveis),
+                resultado(recentes, RECENTES, indisponiveis),
+                resultado(maioresDespesas, MAIORES_DESPESAS, indisponiveis),
+                List.copyOf(indisponiveis));
+    }
+
+    private <T> CompletableFuture<T> parte(String nome, Supplier<T> consulta) {
+        CompletableFuture<T> futuro;
+        try {
+            futuro = CompletableFuture.supplyAsync(consulta, dashboardExecutor);
+        } catch (RejectedExecutionException e) {
+            futuro = CompletableFuture.failedFuture(e);
+        }
+        return futuro
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.warn("Parte '{}' do dashboard indisponível: {}", nome, e.toString());
+                    return null;
+                });
+    }
+
+    private static <T> T resultado(CompletableFuture<T> parte, String nome, List<String> indisponiveis) {
+        T valor = parte.join();
+        if (valor == null) {
+            indisponiveis.add(nome);
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.financas.service;
+
+import com.example.financas.dto.FormatoExportacao;
+import com.example.financas.dto.TransacaoResumoDTO;
+import com.example.financas.model.Transacao;
+import com.example.financas.model.User;
+import com.example.financas.repository.TransacaoRepository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class ExportacaoService {
+
+    private static final String CABECALHO_CSV = "id,data,descricao,valor,tipo,categoria_id,categoria_nome";
+
+    private final TransacaoRepository transacaoRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public ExportacaoService(TransacaoRepository transacaoRepository, EntityManager entityManager,
+            ObjectMapper objectMapper) {
+        this.transacaoRepository = transacaoRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Escreve todo o histórico do usuário na saída, lendo as linhas por um
+     * cursor somente-avanço. Cada entidade é desanexada assim que escrita, então
+     * o contexto de persistência não cresce com o tamanho do histórico.
+     */
+    @Transactional(readOnly = true)
+    public void exportar(User userLogado, FormatoExportacao formato, OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+
+        if (formato == FormatoExportacao.CSV) {
+            writer.write(CABECALHO_CSV);
+            writer.write('\n');
+        }
+
+        try (Stream<Transacao> transacoes = transacaoRepository.streamByUser(userLogado)) {
+            Iterator<Transacao> iterator = transacoes.iterator();
+            while (iterator.hasNext()) {
+                Transacao transacao = iterator.next();
+                TransacaoResumoDTO linha = TransacaoResumoDTO.de(transacao);
+
+                if (formato == FormatoExportacao.CSV) {
+                    escreverCsv(writer, linha);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(linha));
+                }
+                writer.write('\n');
+
+                entityManager.detach(transacao);
+            }
+        }
+
+        writer.flush();
+    }
+
+    private void escreverCsv(Writer writer, TransacaoResumoDTO linha) throws IOException {
+        writer.write(String.valueOf(linha.id()));
+        writer.write(',');
+        writer.write(String.valueOf(linha.data()));
+        writer.write(',');
+        writer.write(escaparCsv(linha.descricao()));
+        writer.write(',');
+        writer.write(linha.valor().toPlainString());
+        writer.write(',');
+        writer.write(linha.tipo().name());
+        writer.write(',');
+        writer.write(String.valueOf(linha.categoriaId()));
+        writer.write(',');
+        writer.write(escaparCsv(linha.categoriaNome()));
+    }
+
+    private static String escaparCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0
+                && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
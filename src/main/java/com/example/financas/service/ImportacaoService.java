@@ -0,0 +1,203 @@
+package com.example.financas.service;
+
+import com.example.financas.config.CacheConfig;
+import com.example.financas.dto.ErroImportacaoDTO;
+import com.example.financas.dto.FormatoExtrato;
+import com.example.financas.dto.ResultadoImportacaoDTO;
+import com.example.financas.exception.ResourceNotFoundException;
+import com.example.financas.model.Categoria;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.Transacao;
+import com.example.financas.model.User;
+import com.example.financas.repository.CategoriaRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ImportacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoService.class);
+
+    // Limita o relatório para que um arquivo todo inválido não estoure a memória
+    private static final int MAXIMO_ERROS_DETALHADOS = 1000;
+
+    private final CategoriaRepository categoriaRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final SaldoService saldoService;
+    private final ResumoMensalService resumoMensalService;
+    private final CacheManager cacheManager;
+    private final BuscaService buscaService;
+    private final VersaoService versaoService;
+
+    @Value("${importacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    public ImportacaoService(CategoriaRepository categoriaRepository, EntityManager entityManager,
+            TransactionTemplate transactionTemplate, SaldoService saldoService,
+            ResumoMensalService resumoMensalService, CacheManager cacheManager, BuscaService buscaService,
+            VersaoService versaoService) {
+        this.categoriaRepository = categoriaRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.saldoService = saldoService;
+        this.resumoMensalService = resumoMensalService;
+        this.cacheManager = cacheManager;
+        this.buscaService = buscaService;
+        this.versaoService = versaoService;
+    }
+
+    /**
+     * Lê o extrato incrementalmente e grava as transações em lotes, cada lote
+     * em sua própria transação. Um lote que falha não desfaz os anteriores.
+     */
+    public ResultadoImportacaoDTO importar(User userLogado, FormatoExtrato formato, Long categoriaPadraoId,
+            InputStream entrada) throws IOException {
+
+        // Uma única consulta resolve a posse de todas as categorias do arquivo
+        Map<Long, Categoria> categoriasDoUsuario = categoriaRepository.findByUser(userLogado).stream()
+                .collect(Collectors.toMap(Categoria::getId, Function.identity()));
+
+        if (categoriaPadraoId != null && !categoriasDoUsuario.containsKey(categoriaPadraoId)) {
+            throw new ResourceNotFoundException("Categoria não encontrada com ID: " + categoriaPadraoId);
+        }
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        LeitorExtrato leitor = formato == FormatoExtrato.CSV
+                ? new LeitorExtratoCsv(reader)
+                : new LeitorExtratoOfx(reader);
+
+        List<ErroImportacaoDTO> erros = new ArrayList<>();
+        List<Transacao> lote = new ArrayList<>(tamanhoLote);
+        long linhasLidas = 0;
+        long importadas = 0;
+        long totalErros = 0;
+        int lotes = 0;
+
+        while (true) {
+            LinhaExtrato linha;
+            try {
+                linha = leitor.proxima();
+            } catch (IllegalArgumentException e) {
+                linhasLidas++;
+                totalErros++;
+                registrarErro(erros, new ErroImportacaoDTO(leitor.getNumeroLinha(), e.getMessage()));
+                continue;
+            }
+            if (linha == null) {
+                break;
+            }
+            linhasLidas++;
+
+            Long categoriaId = linha.categoriaId() != null ? linha.categoriaId() : categoriaPadraoId;
+            Categoria categoria = categoriaId == null ? null : categoriasDoUsuario.get(categoriaId);
+            if (categoria == null) {
+                totalErros++;
+                registrarErro(erros, new ErroImportacaoDTO(leitor.getNumeroLinha(),
+                        categoriaId == null
+                                ? "Categoria não informada e nenhuma categoria padrão definida."
+                                : "Categoria não encontrada com ID: " + categoriaId));
+                continue;
+            }
+
+            lote.add(new Transacao(linha.descricao(), linha.valor(), linha.data(), linha.tipo(), userLogado,
+                    categoria));
+
+            if (lote.size() >= tamanhoLote) {
+                lotes++;
+                int gravadas = gravarLote(lote, lotes, leitor.getNumeroLinha(), erros);
+                importadas += gravadas;
+                totalErros += lote.size() - gravadas;
+                lote.clear();
+            }
+        }
+
+        if (!lote.isEmpty()) {
+            lotes++;
+            int gravadas = gravarLote(lote, lotes, leitor.getNumeroLinha(), erros);
+            importadas += gravadas;
+            totalErros += lote.size() - gravadas;
+        }
+
+        log.info("Importação concluída para {}: {} linhas lidas, {} importadas, {} lotes, {} erros",
+                userLogado.getUsername(), linhasLidas, importadas, lotes, totalErros);
+
+        return new ResultadoImportacaoDTO(linhasLidas, importadas, lotes, totalErros, erros);
+    }
+
+    /**
+     * Persiste o lote numa transação própria. Com ids de sequência em pool e
+     * {@code hibernate.jdbc.batch_size}, o flush vira poucos INSERTs em batch.
+     *
+     * @return quantidade de transações gravadas (zero se o lote falhou)
+     */
+    private int gravarLote(List<Transacao> lote, int numeroLote, long ultimaLinha, List<ErroImportacaoDTO> erros) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Versões reservadas primeiro, como em toda escrita (ver VersaoService)
+                long versao = versaoService.reservar(lote.get(0).getUser(), lote.size()) - lote.size() + 1;
+
+                BigDecimal receitas = BigDecimal.ZERO;
+                BigDecimal despesas = BigDecimal.ZERO;
+                for (Transacao transacao : lote) {
+                    transacao.setVersao(versao++);
+                    entityManager.persist(transacao);
+                    if (transacao.getTipo() == TipoTransacao.RECEITA) {
+                        receitas = receitas.add(transacao.getValor());
+                    } else {
+                        despesas = despesas.add(transacao.getValor());
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+
+                saldoService.aplicar(lote.get(0).getUser(), receitas, despesas);
+                resumoMensalService.registrarInclusoes(lote);
+                buscaService.registrarAlteracoes(lote.get(0).getUser(), lote);
+
+                // Removido do cache só após o commit (CacheConfig usa cache transacional)
+                Cache saldos = cacheManager.getCache(CacheConfig.SALDO);
+                if (saldos != null) {
+                    saldos.evict(lote.get(0).getUser().getId());
+                }
+            });
+        } catch (DataAccessException | PersistenceException e) {
+            log.warn("Lote {} da importação falhou: {}", numeroLote, e.getMessage());
+            registrarErro(erros, new ErroImportacaoDTO(ultimaLinha,
+                    "Lote " + numeroLote + " com " + lote.size() + " transações não foi gravado: "
+                            + e.getMessage()));
+            return 0;
+        }
+
+        log.info("Lote {} da importação gravado ({} transações, até a linha {})", numeroLote, lote.size(),
+                ultimaLinha);
+        return lote.size();
+    }
+
+    private static void registrarErro(List<ErroImportacaoDTO> erros, ErroImportacaoDTO erro) {
+        if (erros.size() < MAXIMO_ERROS_DETALHADOS) {
+            erros.add(erro);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.financas.service;
+
+import com.example.financas.dto.ResultadoBuscaDTO;
+import com.example.financas.dto.TransacaoResumoDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória sobre a descrição das transações de um usuário.
+ * Os termos ficam ordenados, então um prefixo vira um intervalo do mapa.
+ * Leituras concorrentes; escritas exclusivas.
+ */
+final class IndiceInvertido {
+
+    // Prefixos curtos casariam com boa parte do índice sem ajudar na busca
+    static final int TAMANHO_MINIMO_PREFIXO = 2;
+    private static final double PESO_PREFIXO = 0.5;
+
+    private static final Comparator<ResultadoBuscaDTO> ORDEM = Comparator
+            .comparingDouble(ResultadoBuscaDTO::relevancia)
+            .thenComparing(r -> r.transacao().data(), Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(r -> r.transacao().id());
+
+    private final Map<Long, TransacaoResumoDTO> documentos = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> termos = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void indexar(TransacaoResumoDTO transacao) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(transacao.id());
+            documentos.put(transacao.id(), transacao);
+            for (String termo : Tokenizador.termos(transacao.descricao())) {
+                termos.computeIfAbsent(termo, t -> new HashSet<>()).add(transacao.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna as transações que contêm todos os termos, exatamente ou como
+     * prefixo de uma palavra. A relevância soma o IDF de cada termo, com peso
+     * menor para casamentos por prefixo; empates vão para as mais recentes.
+     */
+    List<ResultadoBuscaDTO> buscar(List<String> consulta, int limite) {
+        lock.readLock().lock();
+        try {
+            int total = documentos.size();
+            Map<Long, Double> pontuacao = null;
+
+            for (String termo : consulta) {
+                Map<Long, Double> doTermo = new HashMap<>();
+
+                Set<Long> exatos = termos.get(termo);
+                if (exatos != null) {
+                    double peso = idf(exatos.size(), total);
+                    for (Long id : exatos) {
+                        doTermo.put(id, peso);
+                    }
+                }
+                if (termo.length() >= TAMANHO_MINIMO_PREFIXO) {
+                    for (Set<Long> ids : termos.subMap(termo, false, termo + Character.MAX_VALUE, false).values()) {
+                        double peso = idf(ids.size(), total) * PESO_PREFIXO;
+                        for (Long id : ids) {
+                            doTermo.merge(id, peso, Math::max);
+                        }
+                    }
+                }
+
+                if (pontuacao == null) {
+                    pontuacao = doTermo;
+                } else {
+                    pontuacao.keySet().retainAll(doTermo.keySet());
+                    pontuacao.replaceAll((id, pontos) -> pontos + doTermo.get(id));
+                }
+                if (pontuacao.isEmpty()) {
+                    return List.of();
+                }
+            }
+            if (pontuacao == null) {
+                return List.of();
+            }
+
+            // Top-k com heap mínimo: O(n log k) em vez de ordenar todos os candidatos
+            PriorityQueue<ResultadoBuscaDTO> melhores = new PriorityQueue<>(limite + 1, ORDEM);
+            for (Map.Entry<Long, Double> candidato : pontuacao.entrySet()) {
+                melhores.add(new ResultadoBuscaDTO(documentos.get(candidato.getKey()), candidato.getValue()));
+                if (melhores.size() > limite) {
+                    melhores.poll();
+                }
+            }
+
+            List<ResultadoBuscaDTO> resultado = new ArrayList<>(melhores);
+            resultado.sort(ORDEM.reversed());
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removerSemLock(Long id) {
+        TransacaoResumoDTO anterior = documentos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (String termo : Tokenizador.termos(anterior.descricao())) {
+            Set<Long> ids = termos.get(termo);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    termos.remove(termo);
+                }
+            }
+        }
+    }
+
+    private static double idf(int frequencia, int total) {
+        return Math.log(1.0 + (double) total / frequencia);
+    }
+}
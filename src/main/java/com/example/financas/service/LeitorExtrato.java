@@ -0,0 +1,20 @@
+package com.example.financas.service;
+
+import java.io.IOException;
+
+/**
+ * Lê um extrato bancário um lançamento por vez, sem carregar o arquivo inteiro.
+ */
+interface LeitorExtrato {
+
+    /**
+     * Próximo lançamento, ou {@code null} no fim do arquivo. Um lançamento
+     * inválido lança {@link IllegalArgumentException} e a leitura pode continuar.
+     */
+    LinhaExtrato proxima() throws IOException;
+
+    /**
+     * Linha do arquivo onde terminou o último lançamento lido.
+     */
+    long getNumeroLinha();
+}
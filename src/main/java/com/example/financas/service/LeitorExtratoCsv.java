@@ -0,0 +1,162 @@
+package com.example.financas.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.example.financas.model.TipoTransacao;
+
+/**
+ * CSV com cabeçalho. As colunas são localizadas pelo nome: {@code data} e
+ * {@code valor} são obrigatórias; {@code descricao}, {@code tipo} e
+ * {@code categoria_id} são opcionais. Aceita o mesmo formato da exportação
+ * e arquivos salvos pelo Excel, que começam com BOM. Valores com vírgula
+ * decimal ("1.234,56") precisam vir entre aspas, já que a vírgula separa os
+ * campos; ver {@link LinhaExtrato#valor}.
+ */
+class LeitorExtratoCsv implements LeitorExtrato {
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> colunas = new HashMap<>();
+    private long numeroLinha;
+
+    private static final char BOM = '\uFEFF';
+
+    LeitorExtratoCsv(BufferedReader reader) throws IOException {
+        this.reader = reader;
+
+        List<String> cabecalho = lerRegistro();
+        if (cabecalho == null) {
+            throw new IllegalArgumentException("Arquivo CSV vazio.");
+        }
+        if (!cabecalho.get(0).isEmpty() && cabecalho.get(0).charAt(0) == BOM) {
+            cabecalho.set(0, cabecalho.get(0).substring(1));
+        }
+        for (int i = 0; i < cabecalho.size(); i++) {
+            colunas.put(cabecalho.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!colunas.containsKey("data") || !colunas.containsKey("valor")) {
+            throw new IllegalArgumentException("O cabeçalho do CSV deve conter as colunas 'data' e 'valor'.");
+        }
+    }
+
+    @Override
+    public LinhaExtrato proxima() throws IOException {
+        List<String> campos = lerRegistro();
+        while (campos != null && campos.size() == 1 && campos.get(0).isBlank()) {
+            campos = lerRegistro();
+        }
+        if (campos == null) {
+            return null;
+        }
+
+        String dataInformada = campo(campos, "data");
+        String valorInformado = campo(campos, "valor");
+        if (dataInformada == null || dataInformada.isEmpty() || valorInformado == null || valorInformado.isEmpty()) {
+            throw new IllegalArgumentException("Linha sem as colunas obrigatórias 'data' e 'valor'.");
+        }
+
+        LocalDate data;
+        BigDecimal valor;
+        try {
+            data = LocalDate.parse(dataInformada);
+            valor = LinhaExtrato.valor(valorInformado);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Data ou valor inválidos: " + dataInformada + ", " + valorInformado);
+        }
+
+        String tipoInformado = campo(campos, "tipo");
+        TipoTransacao tipo;
+        if (tipoInformado == null || tipoInformado.isEmpty()) {
+            tipo = LinhaExtrato.tipoPeloSinal(valor);
+        } else {
+            try {
+                tipo = TipoTransacao.valueOf(tipoInformado.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Tipo de transação inválido: " + tipoInformado);
+            }
+        }
+
+        String categoria = campo(campos, "categoria_id");
+        Long categoriaId;
+        try {
+            categoriaId = categoria == null || categoria.isEmpty() ? null : Long.valueOf(categoria);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Categoria inválida: " + categoria);
+        }
+
+        return new LinhaExtrato(data, campo(campos, "descricao"), valor.abs(), tipo, categoriaId);
+    }
+
+    @Override
+    public long getNumeroLinha() {
+        return numeroLinha;
+    }
+
+    private String campo(List<String> campos, String nome) {
+        Integer indice = colunas.get(nome);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        return campos.get(indice).trim();
+    }
+
+    /**
+     * Lê um registro, juntando linhas físicas quando um campo entre aspas
+     * contém quebra de linha.
+     */
+    private List<String> lerRegistro() throws IOException {
+        String linha = reader.readLine();
+        if (linha == null) {
+            return null;
+        }
+        numeroLinha++;
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+
+        while (true) {
+            for (int i = 0; i < linha.length(); i++) {
+                char c = linha.charAt(i);
+                if (entreAspas) {
+                    if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                        atual.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        entreAspas = false;
+                    } else {
+                        atual.append(c);
+                    }
+                } else if (c == '"') {
+                    entreAspas = true;
+                } else if (c == ',') {
+                    campos.add(atual.toString());
+                    atual.setLength(0);
+                } else {
+                    atual.append(c);
+                }
+            }
+
+            if (!entreAspas) {
+                break;
+            }
+            linha = reader.readLine();
+            if (linha == null) {
+                break;
+            }
+            numeroLinha++;
+            atual.append('\n');
+        }
+
+        campos.add(atual.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.financas.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Extrai os blocos {@code <STMTTRN>} de um arquivo OFX (SGML ou XML). Os
+ * lançamentos não trazem categoria, então dependem da categoria padrão da
+ * importação.
+ */
+class LeitorExtratoOfx implements LeitorExtrato {
+
+    private static final DateTimeFormatter DATA_OFX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final BufferedReader reader;
+    private long numeroLinha;
+
+    private String linhaAtual = "";
+    private int posicao;
+
+    LeitorExtratoOfx(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public LinhaExtrato proxima() throws IOException {
+        Map<String, String> campos = null;
+
+        String tag;
+        while ((tag = proximaTag()) != null) {
+            if (tag.equals("STMTTRN")) {
+                campos = new HashMap<>();
+            } else if (tag.equals("/STMTTRN") && campos != null) {
+                return converter(campos);
+            } else if (campos != null && !tag.startsWith("/")) {
+                campos.put(tag, conteudoAteProximaTag());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long getNumeroLinha() {
+        return numeroLinha;
+    }
+
+    private LinhaExtrato converter(Map<String, String> campos) {
+        String dataInformada = campos.get("DTPOSTED");
+        String valorInformado = campos.get("TRNAMT");
+        if (dataInformada == null || dataInformada.length() < 8 || valorInformado == null) {
+            throw new IllegalArgumentException("Lançamento OFX sem DTPOSTED ou TRNAMT.");
+        }
+
+        LocalDate data;
+        BigDecimal valor;
+        try {
+            data = LocalDate.parse(dataInformada.substring(0, 8), DATA_OFX);
+            valor = LinhaExtrato.valor(valorInformado);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Data ou valor inválidos: " + dataInformada + ", " + valorInformado);
+        }
+
+        String descricao = campos.getOrDefault("MEMO", campos.get("NAME"));
+        return new LinhaExtrato(data, descricao, valor.abs(), LinhaExtrato.tipoPeloSinal(valor), null);
+    }
+
+    /**
+     * Avança até a próxima tag e devolve seu nome em maiúsculas, sem os sinais
+     * de menor e maior.
+     */
+    private String proximaTag() throws IOException {
+        while (true) {
+            int inicio = linhaAtual.indexOf('<', posicao);
+            if (inicio >= 0) {
+                int fim = linhaAtual.indexOf('>', inicio);
+                if (fim < 0) {
+                    posicao = linhaAtual.length();
+                    continue;
+                }
+                posicao = fim + 1;
+                return linhaAtual.substring(inicio + 1, fim).trim().toUpperCase(Locale.ROOT);
+            }
+            if (!avancarLinha()) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Conteúdo de um elemento: no SGML do OFX o valor vai até o fim da linha ou
+     * até a próxima tag, o que vier primeiro.
+     */
+    private String conteudoAteProximaTag() {
+        int fim = linhaAtual.indexOf('<', posicao);
+        String conteudo = fim < 0 ? linhaAtual.substring(posicao) : linhaAtual.substring(posicao, fim);
+        posicao = fim < 0 ? linhaAtual.length() : fim;
+        return conteudo.trim();
+    }
+
+    private boolean avancarLinha() throws IOException {
+        String linha = reader.readLine();
+        if (linha == null) {
+            return false;
+        }
+        numeroLinha++;
+        linhaAtual = linha;
+        posicao = 0;
+        return true;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.financas.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.example.financas.model.TipoTransacao;
+
+/**
+ * Lançamento lido de um extrato. O valor já vem sem sinal; o sinal original
+ * define o tipo quando o arquivo não o informa.
+ */
+record LinhaExtrato(LocalDate data, String descricao, BigDecimal valor, TipoTransacao tipo, Long categoriaId) {
+
+    static TipoTransacao tipoPeloSinal(BigDecimal valor) {
+        return valor.signum() < 0 ? TipoTransacao.DESPESA : TipoTransacao.RECEITA;
+    }
+
+    /**
+     * Converte um valor com ponto ou vírgula decimal. Quando os dois aparecem,
+     * o último é o decimal e o outro é separador de milhar ("1.234,56" e
+     * "1,234.56"); pontos repetidos sem vírgula também são milhar
+     * ("1.234.567"). Um separador sozinho é sempre decimal, então "1.234" vale
+     * 1,234 e não mil duzentos e trinta e quatro.
+     *
+     * @throws NumberFormatException se o texto não for um número
+     */
+    static BigDecimal valor(String texto) {
+        int ultimoPonto = texto.lastIndexOf('.');
+        int ultimaVirgula = texto.lastIndexOf(',');
+        String normalizado;
+        if (ultimoPonto >= 0 && ultimaVirgula >= 0) {
+            char milhar = ultimoPonto > ultimaVirgula ? ',' : '.';
+            normalizado = texto.replace(String.valueOf(milhar), "").replace(',', '.');
+        } else if (ultimaVirgula >= 0) {
+            normalizado = texto.replace(',', '.');
+        } else if (ultimoPonto != texto.indexOf('.')) {
+            normalizado = texto.replace(".", "");
+        } else {
+            normalizado = texto;
+        }
+        return new BigDecimal(normalizado);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.financas.service;
+
+import com.example.financas.config.AutenticacaoConfig;
+import com.example.financas.dto.TokenResponse;
+import com.example.financas.model.User;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@Service
+public class LoginService {
+
+    private final AuthenticationManager authenticationManager;
+    private final TokenService tokenService;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final Executor loginExecutor;
+
+    public LoginService(AuthenticationManager authenticationManager, TokenService tokenService,
+            UserDetailsServiceImpl userDetailsService,
+            @Qualifier(AutenticacaoConfig.EXECUTOR_LOGIN) Executor loginExecutor) {
+        this.authenticationManager = authenticationManager;
+        this.tokenService = tokenService;
+        this.userDetailsService = userDetailsService;
+        this.loginExecutor = loginExecutor;
+    }
+
+    /**
+     * Autentica usuário e senha no pool de login. Se o pool estiver saturado a
+     * submissão falha imediatamente com RejectedExecutionException.
+     */
+    public CompletableFuture<TokenResponse> login(String username, String password) {
+        return CompletableFuture.supplyAsync(() -> {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(username, password));
+            return emitirTokens((User) authentication.getPrincipal());
+        }, loginExecutor);
+    }
+
+    /**
+     * Troca um refresh token válido por um novo par de tokens. Custa só a
+     * verificação do HMAC e uma busca do usuário pela chave única, sem BCrypt;
+     * a busca garante que o usuário ainda existe.
+     */
+    public TokenResponse renovar(String refreshToken) {
+        Claims claims = tokenService.lerClaims(refreshToken);
+        if (claims == null || !TokenService.isRefreshToken(claims)) {
+            throw new BadCredentialsException("Refresh token inválido.");
+        }
+
+        User user = (User) userDetailsService.loadUserByUsername(claims.getSubject());
+        if (!user.getId().toString().equals(claims.get(TokenService.CLAIM_USER_ID, String.class))) {
+            throw new BadCredentialsException("Refresh token inválido.");
+        }
+        return emitirTokens(user);
+    }
+
+    private TokenResponse emitirTokens(User user) {
+        return new TokenResponse(tokenService.generateToken(user), tokenService.generateRefreshToken(user));
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.financas.service;
+
+import com.example.financas.dto.ResumoMensalDTO;
+import com.example.financas.model.ResumoMensal;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.Transacao;
+import com.example.financas.model.User;
+import com.example.financas.repository.ResumoMensalRepository;
+import com.example.financas.repository.TransacaoRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@Transactional
+public class ResumoMensalService {
+
+    private static final int MAXIMO_MESES_RELATORIO = 60;
+
+    private final ResumoMensalRepository resumoMensalRepository;
+    private final TransacaoRepository transacaoRepository;
+    private final VersaoService versaoService;
+
+    public ResumoMensalService(ResumoMensalRepository resumoMensalRepository,
+            TransacaoRepository transacaoRepository, VersaoService versaoService) {
+        this.resumoMensalRepository = resumoMensalRepository;
+        this.transacaoRepository = transacaoRepository;
+        this.versaoService = versaoService;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ResumoMensalDTO> relatorio(User user, YearMonth inicio, YearMonth fim) {
+        if (inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("O mês inicial deve ser anterior ou igual ao mês final.");
+        }
+        if (inicio.plusMonths(MAXIMO_MESES_RELATORIO).isBefore(fim.plusMonths(1))) {
+            throw new IllegalArgumentException("O relatório pode cobrir no máximo " + MAXIMO_MESES_RELATORIO
+                    + " meses.");
+        }
+        return resumoMensalRepository.findRelatorio(user.getId(), inicio.atDay(1), fim.atDay(1));
+    }
+
+    /**
+     * Categorias com maior total do tipo no mês, direto das linhas
+     * consolidadas.
+     */
+    @Transactional(readOnly = true)
+    public List<ResumoMensalDTO> maioresCategorias(User user, YearMonth mes, TipoTransacao tipo, int limite) {
+        return resumoMensalRepository.findMaioresDoMes(user.getId(), mes.atDay(1), tipo, Limit.of(limite));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarInclusao(Transacao transacao) {
+        aplicar(transacao, BigDecimal.ONE, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarExclusao(Transacao transacao) {
+        aplicar(transacao, BigDecimal.ONE.negate(), -1);
+    }
+
+    /**
+     * Move a transação da chave anterior para a atual. Quando mês, categoria e
+     * tipo não mudam, vira um único UPDATE com a diferença de valor.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarAlteracao(Transacao anterior, Transacao atual) {
+        if (completa(anterior) && completa(atual)
+                && mesDe(anterior.getData()).equals(mesDe(atual.getData()))
+                && anterior.getCategoria().getId().equals(atual.getCategoria().getId())
+                && anterior.getTipo() == atual.getTipo()) {
+            BigDecimal diferenca = atual.getValor().subtract(anterior.getValor());
+            if (diferenca.signum() != 0) {
+                somar(atual.getUser().getId(), mesDe(atual.getData()), atual.getCategoria().getId(),
+                        atual.getTipo(), diferenca, 0);
+            }
+            return;
+        }
+        registrarExclusao(anterior);
+        registrarInclusao(atual);
+    }
+
+    /**
+     * Agrega um lote de inclusões em memória e aplica um UPDATE por chave, em
+     * vez de um por transação.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarInclusoes(Collection<Transacao> transacoes) {
+        Map<Chave, Acumulado> porChave = new LinkedHashMap<>();
+        for (Transacao transacao : transacoes) {
+            if (!completa(transacao)) {
+                continue;
+            }
+            Chave chave = new Chave(transacao.getUser().getId(), mesDe(transacao.getData()),
+                    transacao.getCategoria().getId(), transacao.getTipo());
+            porChave.computeIfAbsent(chave, c -> new Acumulado()).somar(transacao.getValor());
+        }
+        porChave.forEach((chave, acumulado) -> somar(chave.userId(), chave.mes(), chave.categoriaId(), chave.tipo(),
+                acumulado.total, acumulado.quantidade));
+    }
+
+    /**
+     * Refaz o resumo do usuário a partir das transações. Bloqueia a linha de
+     * versão antes de apagar, como as escritas de transações: uma inclusão
+     * concorrente ou termina antes (e entra na agregação) ou espera o commit
+     * (e encontra as linhas já refeitas).
+     */
+    public int reconstruir(User user) {
+        versaoService.incrementar(user);
+        resumoMensalRepository.deleteByUserId(user.getId());
+
+        List<ResumoMensal> linhas = new ArrayList<>();
+        for (Object[] grupo : transacaoRepository.agruparPorMesCategoriaETipo(user)) {
+            LocalDate mes = LocalDate.of(((Number) grupo[0]).intValue(), ((Number) grupo[1]).intValue(), 1);
+            linhas.add(new ResumoMensal(user.getId(), mes, (Long) grupo[2], (TipoTransacao) grupo[3],
+                    (BigDecimal) grupo[4], ((Number) grupo[5]).longValue()));
+        }
+        resumoMensalRepository.saveAll(linhas);
+        return linhas.size();
+    }
+
+    private void aplicar(Transacao transacao, BigDecimal sinal, long quantidade) {
+        if (!completa(transacao)) {
+            return;
+        }
+        somar(transacao.getUser().getId(), mesDe(transacao.getData()), transacao.getCategoria().getId(),
+                transacao.getTipo(), transacao.getValor().multiply(sinal), quantidade);
+    }
+
+    /**
+     * UPDATE e, se a linha não existe, INSERT. Duas escritas do mesmo usuário
+     * não chegam aqui ao mesmo tempo porque toda escrita (e a reconstrução)
+     * bloqueia antes a linha de versão (VersaoService.incrementar/reservar);
+     * sem esse bloqueio, o INSERT concorrente violaria uk_resumo_mensal_chave.
+     */
+    private void somar(UUID userId, LocalDate mes, Long categoriaId, TipoTransacao tipo, BigDecimal total,
+            long quantidade) {
+        int atualizadas = resumoMensalRepository.somar(userId, mes, categoriaId, tipo, total, quantidade);
+        if (atualizadas == 0) {
+            resumoMensalRepository.save(new ResumoMensal(userId, mes, categoriaId, tipo, total, quantidade));
+        }
+    }
+
+    private static boolean completa(Transacao transacao) {
+        return transacao.getData() != null && transacao.getTipo() != null && transacao.getValor() != null
+                && transacao.getCategoria() != null && transacao.getCategoria().getId() != null;
+    }
+
+    private static LocalDate mesDe(LocalDate data) {
+        return data.withDayOfMonth(1);
+    }
+
+    private record Chave(UUID userId, LocalDate mes, Long categoriaId, TipoTransacao tipo) {
+    }
+
+    private static final class Acumulado {
+        private BigDecimal total = BigDecimal.ZERO;
+        private long quantidade;
+
+        void somar(BigDecimal valor) {
+            total = total.add(valor);
+            quantidade++;
+        }
+    }
+}
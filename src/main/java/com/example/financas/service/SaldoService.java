@@ -0,0 +1,191 @@
+package com.example.financas.service;
+
+import com.example.financas.dto.IntervaloSerie;
+import com.example.financas.dto.MovimentoDiarioDTO;
+import com.example.financas.dto.PontoSaldoDTO;
+import com.example.financas.dto.SaldoDTO;
+import com.example.financas.model.SaldoUsuario;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.Transacao;
+import com.example.financas.model.User;
+import com.example.financas.repository.SaldoUsuarioRepository;
+import com.example.financas.repository.TransacaoRepository;
+import com.example.financas.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+@Transactional
+public class SaldoService {
+
+    // Mesmo teto do relatório mensal: limita os pontos montados em memória
+    static final int MAXIMO_MESES_SERIE = 60;
+
+    private final SaldoUsuarioRepository saldoUsuarioRepository;
+    private final TransacaoRepository transacaoRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final VersaoService versaoService;
+
+    public SaldoService(SaldoUsuarioRepository saldoUsuarioRepository, TransacaoRepository transacaoRepository,
+            UserRepository userRepository, TransactionTemplate transactionTemplate, VersaoService versaoService) {
+        this.saldoUsuarioRepository = saldoUsuarioRepository;
+        this.transacaoRepository = transacaoRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.versaoService = versaoService;
+    }
+
+    /**
+     * Leitura por chave primária. A linha nasce no cadastro; usuários criados
+     * antes dela existir leem saldo zero até {@link #reconstruirTodos} (ou a
+     * reconstrução do próprio usuário) materializá-la. A leitura não grava:
+     * criar a linha aqui, sem o lock de versão, concorreria com as escritas.
+     */
+    @Transactional(readOnly = true)
+    public SaldoDTO consultar(User user) {
+        return saldoUsuarioRepository.findById(user.getId())
+                .map(SaldoService::paraDTO)
+                .orElseGet(() -> new SaldoDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+    }
+
+    public void inicializar(User user) {
+        saldoUsuarioRepository.save(new SaldoUsuario(user.getId(), BigDecimal.ZERO, BigDecimal.ZERO));
+    }
+
+    /**
+     * Aplica os deltas na mesma transação da escrita que os originou. Deve ser
+     * chamado depois da escrita, pois se a linha não existir o saldo é
+     * recalculado a partir das transações já com a alteração. A escrita já
+     * bloqueou a linha de versão, então a criação da linha não concorre com
+     * outra escrita do mesmo usuário.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void aplicar(User user, BigDecimal receitas, BigDecimal despesas) {
+        if (receitas.signum() == 0 && despesas.signum() == 0) {
+            return;
+        }
+        if (saldoUsuarioRepository.somar(user.getId(), receitas, despesas) == 0) {
+            reconstruir(user);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarInclusao(Transacao transacao) {
+        aplicar(transacao.getUser(), receita(transacao.getTipo(), transacao.getValor()),
+                despesa(transacao.getTipo(), transacao.getValor()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarExclusao(Transacao transacao) {
+        aplicar(transacao.getUser(), receita(transacao.getTipo(), transacao.getValor()).negate(),
+                despesa(transacao.getTipo(), transacao.getValor()).negate());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarAlteracao(User user, TipoTransacao tipoAnterior, BigDecimal valorAnterior,
+            TipoTransacao tipoAtual, BigDecimal valorAtual) {
+        aplicar(user,
+                receita(tipoAtual, valorAtual).subtract(receita(tipoAnterior, valorAnterior)),
+                despesa(tipoAtual, valorAtual).subtract(despesa(tipoAnterior, valorAnterior)));
+    }
+
+    /**
+     * Recalcula o saldo a partir das transações e sobrescreve a linha
+     * materializada. Quem chama deve ter bloqueado antes a linha de versão
+     * ({@link VersaoService#incrementar}).
+     */
+    public SaldoDTO reconstruir(User user) {
+        SaldoDTO saldo = transacaoRepository.calcularSaldo(user);
+
+        saldoUsuarioRepository.save(new SaldoUsuario(user.getId(), saldo.getReceitas(), saldo.getDespesas()));
+
+        return saldo;
+    }
+
+    /**
+     * Evolução do saldo entre duas datas. Parte do saldo anterior ao início e
+     * acumula, numa única passada ordenada, o resultado líquido de cada dia;
+     * só os totais diários passam pela memória, nunca as transações.
+     * A série diária traz apenas os dias com movimento; a mensal traz todos
+     * os meses do intervalo, com o saldo no fim de cada um. O intervalo pode
+     * cobrir no máximo {@link #MAXIMO_MESES_SERIE} meses.
+     */
+    @Transactional(readOnly = true)
+    public List<PontoSaldoDTO> serie(User user, LocalDate inicio, LocalDate fim, IntervaloSerie intervalo) {
+        if (inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior ou igual à data final.");
+        }
+        if (YearMonth.from(inicio).plusMonths(MAXIMO_MESES_SERIE).isBefore(YearMonth.from(fim).plusMonths(1))) {
+            throw new IllegalArgumentException("A série pode cobrir no máximo " + MAXIMO_MESES_SERIE + " meses.");
+        }
+
+        BigDecimal saldo = transacaoRepository.calcularSaldoAntesDe(user, inicio);
+        List<PontoSaldoDTO> pontos = new ArrayList<>();
+
+        try (Stream<MovimentoDiarioDTO> movimentos = transacaoRepository.streamMovimentoDiario(user, inicio, fim)) {
+            Iterator<MovimentoDiarioDTO> iterator = movimentos.iterator();
+
+            if (intervalo == IntervaloSerie.DIARIO) {
+                while (iterator.hasNext()) {
+                    MovimentoDiarioDTO movimento = iterator.next();
+                    saldo = saldo.add(movimento.liquido());
+                    pontos.add(new PontoSaldoDTO(movimento.data(), saldo));
+                }
+                return pontos;
+            }
+
+            MovimentoDiarioDTO proximo = iterator.hasNext() ? iterator.next() : null;
+            for (YearMonth mes = YearMonth.from(inicio); !mes.isAfter(YearMonth.from(fim)); mes = mes.plusMonths(1)) {
+                while (proximo != null && YearMonth.from(proximo.data()).equals(mes)) {
+                    saldo = saldo.add(proximo.liquido());
+                    proximo = iterator.hasNext() ? iterator.next() : null;
+                }
+                LocalDate fimDoMes = mes.atEndOfMonth().isAfter(fim) ? fim : mes.atEndOfMonth();
+                pontos.add(new PontoSaldoDTO(fimDoMes, saldo));
+            }
+        }
+        return pontos;
+    }
+
+    /**
+     * Reconstrói o saldo de todos os usuários, um por transação, para não
+     * manter um lock longo sobre a tabela inteira. Cada usuário tem a linha
+     * de versão bloqueada antes do recálculo, como nas escritas.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int reconstruirTodos() {
+        int total = 0;
+        for (User user : userRepository.findAll()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                versaoService.incrementar(user);
+                reconstruir(user);
+            });
+            total++;
+        }
+        return total;
+    }
+
+    private static BigDecimal receita(TipoTransacao tipo, BigDecimal valor) {
+        return tipo == TipoTransacao.RECEITA && valor != null ? valor : BigDecimal.ZERO;
+    }
+
+    private static BigDecimal despesa(TipoTransacao tipo, BigDecimal valor) {
+        return tipo == TipoTransacao.DESPESA && valor != null ? valor : BigDecimal.ZERO;
+    }
+
+    private static SaldoDTO paraDTO(SaldoUsuario saldo) {
+        return new SaldoDTO(saldo.getReceitas(), saldo.getDespesas(),
+                saldo.getReceitas().subtract(saldo.getDespesas()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.financas.service;
+
+import com.example.financas.dto.CategoriaSyncDTO;
+import com.example.financas.dto.ExclusaoSyncDTO;
+import com.example.financas.dto.SincronizacaoDTO;
+import com.example.financas.dto.TransacaoSyncDTO;
+import com.example.financas.model.User;
+import com.example.financas.repository.CategoriaRepository;
+import com.example.financas.repository.ExclusaoRepository;
+import com.example.financas.repository.TransacaoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sincronização incremental: devolve as transações e categorias escritas e
+ * as exclusões registradas depois do cursor do cliente, em ordem de versão.
+ * O custo é proporcional ao volume de alterações, não ao histórico.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SincronizacaoService {
+
+    private final TransacaoRepository transacaoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final ExclusaoRepository exclusaoRepository;
+    private final VersaoService versaoService;
+
+    @Value("${sincronizacao.limite-padrao:500}")
+    private int limitePadrao;
+
+    @Value("${sincronizacao.limite-maximo:1000}")
+    private int limiteMaximo;
+
+    public SincronizacaoService(TransacaoRepository transacaoRepository, CategoriaRepository categoriaRepository,
+            ExclusaoRepository exclusaoRepository, VersaoService versaoService) {
+        this.transacaoRepository = transacaoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.exclusaoRepository = exclusaoRepository;
+        this.versaoService = versaoService;
+    }
+
+    /**
+     * Sem cursor, devolve tudo desde o início. As três consultas vão só até a
+     * última versão confirmada, lida antes delas: uma escrita que confirme no
+     * meio da leitura fica inteira para a próxima chamada, em vez de parte
+     * dela ficar para trás do cursor.
+     */
+    public SincronizacaoDTO sincronizar(User userLogado, Long desde, Integer limite) {
+        int tamanho = limite == null ? limitePadrao : limite;
+        if (tamanho < 1 || tamanho > limiteMaximo) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + limiteMaximo + ".");
+        }
+        long cursor = desde == null ? -1 : desde;
+        long ate = versaoService.consultar(userLogado);
+
+        // Um item a mais de cada lista para saber se há mais alterações
+        Limit porLista = Limit.of(tamanho + 1);
+        List<TransacaoSyncDTO> transacoes = transacaoRepository.findAlteradasDesde(userLogado, cursor, ate,
+                porLista);
+        List<CategoriaSyncDTO> categorias = categoriaRepository.findAlteradasDesde(userLogado, cursor, ate,
+                porLista);
+        List<ExclusaoSyncDTO> exclusoes = exclusaoRepository.findDesde(userLogado.getId(), cursor, ate, porLista);
+
+        // Intercala as três listas por versão (únicas por usuário) até o limite
+        List<TransacaoSyncDTO> transacoesPagina = new ArrayList<>();
+        List<CategoriaSyncDTO> categoriasPagina = new ArrayList<>();
+        List<ExclusaoSyncDTO> exclusoesPagina = new ArrayList<>();
+        int t = 0;
+        int c = 0;
+        int e = 0;
+        long proximoCursor = cursor;
+
+        for (int incluidos = 0; incluidos < tamanho; incluidos++) {
+            long versaoTransacao = t < transacoes.size() ? transacoes.get(t).versao() : Long.MAX_VALUE;
+            long versaoCategoria = c < categorias.size() ? categorias.get(c).versao() : Long.MAX_VALUE;
+            long versaoExclusao = e < exclusoes.size() ? exclusoes.get(e).versao() : Long.MAX_VALUE;
+            long menor = Math.min(versaoTransacao, Math.min(versaoCategoria, versaoExclusao));
+            if (menor == Long.MAX_VALUE) {
+                break;
+            }
+
+            if (menor == versaoTransacao) {
+                transacoesPagina.add(transacoes.get(t++));
+            } else if (menor == versaoCategoria) {
+                categoriasPagina.add(categorias.get(c++));
+            } else {
+                exclusoesPagina.add(exclusoes.get(e++));
+            }
+            proximoCursor = menor;
+        }
+
+        boolean temMais = t < transacoes.size() || c < categorias.size() || e < exclusoes.size();
+        if (!temMais) {
+            // Nada pendente até 'ate': o cliente pode continuar dali
+            proximoCursor = Math.max(proximoCursor, ate);
+        }
+        return new SincronizacaoDTO(transacoesPagina, categoriasPagina, exclusoesPagina, proximoCursor, temMais);
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.financas.service;
 
+import com.example.financas.config.Metricas;
 import com.example.financas.model.User;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -11,32 +13,103 @@ import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class TokenService {
 
+    /**
+     * Claim com o id do usuário; permite ao filtro montar o principal sem
+     * consultar a tabela de usuários.
+     */
+    public static final String CLAIM_USER_ID = "uid";
+
+    // Marca os refresh tokens, que não valem como token de acesso
+    public static final String CLAIM_TIPO = "typ";
+    public static final String TIPO_REFRESH = "refresh";
+
     @Value("${jwt.secret-key}")
     private String secretKey;
 
     @Value("${jwt.expiration-time}")
     private long expirationTimeMillis;
 
+    @Value("${jwt.refresh.expiration-time}")
+    private long refreshExpirationTimeMillis;
+
     private final Key key;
 
-    public TokenService(@Value("${jwt.secret-key}") String secretKey) {
+    // O parser é imutável e thread-safe; montá-lo a cada requisição só gera lixo
+    private final JwtParser parser;
+
+    /**
+     * Tokens já verificados, indexados pelo hash SHA-256 do token. Cada entrada
+     * expira junto com o próprio token, então um token vencido nunca é aceito
+     * pelo cache.
+     */
+    private final Cache<String, Claims> tokensVerificados;
+
+    // Validação servida pelo cache e validação com verificação do HMAC
+    private final Timer validacaoEmCache;
+    private final Timer validacaoCompleta;
+
+    public TokenService(@Value("${jwt.secret-key}") String secretKey,
+            @Value("${jwt.cache.tamanho-maximo:10000}") long tamanhoMaximoCache,
+            MeterRegistry meterRegistry) {
         this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoCache)
+                .expireAfter(new ExpiraComOToken())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokensVerificados, "tokensVerificados");
+        this.validacaoEmCache = Timer.builder(Metricas.JWT_VALIDACAO)
+                .tag(Metricas.TAG_CACHE, "hit")
+                .register(meterRegistry);
+        this.validacaoCompleta = Timer.builder(Metricas.JWT_VALIDACAO)
+                .tag(Metricas.TAG_CACHE, "miss")
+                .register(meterRegistry);
     }
 
     public String generateToken(User user) {
+        return gerar(user, expirationTimeMillis, null);
+    }
+
+    public String generateRefreshToken(User user) {
+        return gerar(user, refreshExpirationTimeMillis, TIPO_REFRESH);
+    }
+
+    public static boolean isRefreshToken(Claims claims) {
+        return TIPO_REFRESH.equals(claims.get(CLAIM_TIPO, String.class));
+    }
+
+    private String gerar(User user, long validadeMillis, String tipo) {
         Date now = new Date();
-        Date expirationDate = new Date(now.getTime() + expirationTimeMillis);
+        Date expirationDate = new Date(now.getTime() + validadeMillis);
 
         return Jwts.builder()
                 .setSubject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId().toString())
+                .claim(CLAIM_TIPO, tipo)
                 .setIssuedAt(now)
                 .setExpiration(expirationDate)
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -44,17 +117,69 @@ public class TokenService {
     }
 
     public String validateToken(String token) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+        Claims claims = lerClaims(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+
+    /**
+     * Valida assinatura e expiração e devolve as claims do token, ou null se
+     * o token for inválido.
+     */
+    public Claims lerClaims(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        Timer.Sample amostra = Timer.start();
+        String chave = hash(token);
+        Claims claims = tokensVerificados.getIfPresent(chave);
+        if (claims != null) {
+            amostra.stop(validacaoEmCache);
+            return claims;
+        }
 
-            return claims.getSubject();
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
         } catch (SignatureException | MalformedJwtException | ExpiredJwtException | UnsupportedJwtException
                 | IllegalArgumentException e) {
+            amostra.stop(validacaoCompleta);
             return null;
         }
+
+        // Sem expiração não há como limitar a vida da entrada; não guarda
+        if (claims.getExpiration() != null) {
+            tokensVerificados.put(chave, claims);
+        }
+        amostra.stop(validacaoCompleta);
+        return claims;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 é obrigatório em toda JVM
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class ExpiraComOToken implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String chave, Claims claims, long agoraNanos) {
+            long restanteMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(restanteMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, Claims claims, long agoraNanos, long duracaoAtualNanos) {
+            return duracaoAtualNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String chave, Claims claims, long agoraNanos, long duracaoAtualNanos) {
+            return duracaoAtualNanos;
+        }
     }
 }
@@ -1,114 +1,331 @@
 package com.example.financas.service;
 
+import com.example.financas.dto.CategoriaResumoDTO;
+import com.example.financas.dto.CursorTransacao;
+import com.example.financas.dto.PaginaTransacoesDTO;
+import com.example.financas.dto.ResultadoLoteDTO;
 import com.example.financas.dto.SaldoDTO;
+import com.example.financas.dto.TransacaoEstadoDTO;
+import com.example.financas.dto.TransacaoResumoDTO;
 import com.example.financas.exception.ResourceNotFoundException;
 import com.example.financas.model.Categoria;
+import com.example.financas.model.TipoEntidade;
 import com.example.financas.model.TipoTransacao;
 import com.example.financas.model.Transacao;
 import com.example.financas.model.User;
 import com.example.financas.repository.CategoriaRepository;
 import com.example.financas.repository.TransacaoRepository;
+import com.example.financas.config.CacheConfig;
+import com.example.financas.config.Metricas;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
+@Transactional
+@Timed(Metricas.SERVICO)
 public class TransacaoService {
 
     private final TransacaoRepository transacaoRepository;
     private final CategoriaRepository categoriaRepository;
+    private final CategoriaService categoriaService;
+    private final SaldoService saldoService;
+    private final ResumoMensalService resumoMensalService;
+    private final BuscaService buscaService;
+    private final VersaoService versaoService;
 
-    public TransacaoService(TransacaoRepository transacaoRepository, CategoriaRepository categoriaRepository) {
+    @Value("${transacoes.pagina.tamanho-padrao:50}")
+    private int tamanhoPaginaPadrao;
+
+    @Value("${transacoes.pagina.tamanho-maximo:500}")
+    private int tamanhoPaginaMaximo;
+
+    @Value("${transacoes.lote.tamanho-maximo:1000}")
+    private int tamanhoLoteMaximo;
+
+    public TransacaoService(TransacaoRepository transacaoRepository, CategoriaRepository categoriaRepository,
+            CategoriaService categoriaService, SaldoService saldoService, ResumoMensalService resumoMensalService,
+            BuscaService buscaService, VersaoService versaoService) {
         this.transacaoRepository = transacaoRepository;
         this.categoriaRepository = categoriaRepository;
+        this.categoriaService = categoriaService;
+        this.saldoService = saldoService;
+        this.resumoMensalService = resumoMensalService;
+        this.buscaService = buscaService;
+        this.versaoService = versaoService;
     }
 
-    public List<Transacao> listarPorUsuario(User userLogado) {
-        return transacaoRepository.findByUser(userLogado);
+    public List<TransacaoResumoDTO> listarPorUsuario(User userLogado) {
+        return transacaoRepository.findResumoByUser(userLogado);
     }
 
+    /** As 'quantidade' transações mais recentes, da mais nova para a mais antiga. */
+    @Transactional(readOnly = true)
+    public List<TransacaoResumoDTO> listarRecentes(User userLogado, int quantidade) {
+        return transacaoRepository.findRecentes(userLogado, Limit.of(quantidade));
+    }
+
+    public PaginaTransacoesDTO listarPagina(User userLogado, String cursor, Integer tamanho) {
+        int tamanhoPagina = tamanho == null ? tamanhoPaginaPadrao : tamanho;
+        if (tamanhoPagina < 1 || tamanhoPagina > tamanhoPaginaMaximo) {
+            throw new IllegalArgumentException(
+                    "O tamanho da página deve estar entre 1 e " + tamanhoPaginaMaximo + ".");
+        }
+
+        // Busca um item a mais para saber se existe uma próxima página
+        Limit limite = Limit.of(tamanhoPagina + 1);
+        List<TransacaoResumoDTO> transacoes;
+        if (cursor == null || cursor.isBlank()) {
+            transacoes = transacaoRepository.findPrimeiraPagina(userLogado, limite);
+        } else {
+            CursorTransacao posicao = CursorTransacao.decodificar(cursor);
+            transacoes = transacaoRepository.findPaginaApos(userLogado, posicao.data(), posicao.id(), limite);
+        }
+
+        if (transacoes.size() <= tamanhoPagina) {
+            return new PaginaTransacoesDTO(transacoes, null);
+        }
+
+        List<TransacaoResumoDTO> itens = transacoes.subList(0, tamanhoPagina);
+        TransacaoResumoDTO ultima = itens.get(itens.size() - 1);
+        String next = new CursorTransacao(ultima.data(), ultima.id()).codificar();
+        return new PaginaTransacoesDTO(List.copyOf(itens), next);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.SALDO, key = "#userLogado.id")
     public Transacao criar(Transacao transacao, User userLogado) {
-        Categoria categoria = categoriaRepository.findById(transacao.getCategoria().getId())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Categoria não encontrada com ID: " + transacao.getCategoria().getId()));
+        Long categoriaId = transacao.getCategoria().getId();
+        Categoria categoria = categoriaPropria(categoriaService.categoriasPorId(userLogado), categoriaId, userLogado);
 
-        if (!categoria.getUser().getId().equals(userLogado.getId())) {
+        if (categoria == null) {
+            if (!categoriaRepository.existsById(categoriaId)) {
+                throw new ResourceNotFoundException("Categoria não encontrada com ID: " + categoriaId);
+            }
             throw new ResponseStatusException(HttpStatus.FORBIDDEN,
                     "A categoria informada não pertence ao usuário logado.");
         }
 
         transacao.setUser(userLogado);
         transacao.setCategoria(categoria);
+        transacao.setVersao(versaoService.incrementar(userLogado));
 
-        return transacaoRepository.save(transacao);
+        Transacao salva = transacaoRepository.save(transacao);
+        saldoService.registrarInclusao(salva);
+        resumoMensalService.registrarInclusao(salva);
+        buscaService.registrarAlteracao(userLogado, salva);
+        return salva;
     }
 
-    public Transacao atualizar(Long id, Transacao transacaoDetails, User userLogado) {
+    /**
+     * Cria várias transações numa única transação de banco. As categorias
+     * são validadas contra o cache de categorias do usuário; itens inválidos
+     * são reportados e não impedem a gravação dos demais.
+     */
+    @CacheEvict(cacheNames = CacheConfig.SALDO, key = "#userLogado.id")
+    public List<ResultadoLoteDTO> criarEmLote(List<Transacao> transacoes, User userLogado) {
+        if (transacoes == null || transacoes.isEmpty()) {
+            throw new IllegalArgumentException("O lote de transações não pode ser vazio.");
+        }
+        if (transacoes.size() > tamanhoLoteMaximo) {
+            throw new IllegalArgumentException("O lote pode ter no máximo " + tamanhoLoteMaximo + " transações.");
+        }
 
-        Transacao transacaoExistente = transacaoRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Transação não encontrada com id: " + id));
+        Map<Long, CategoriaResumoDTO> categorias = categoriaService.categoriasPorId(userLogado);
 
-        // 1. 🚨 REGRA DE SEGURANÇA: A transação pertence ao User logado?
-        if (!transacaoExistente.getUser().getId().equals(userLogado.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN,
-                    "Você não tem permissão para atualizar esta transação.");
+        List<ResultadoLoteDTO> resultados = new ArrayList<>(transacoes.size());
+        List<Transacao> validas = new ArrayList<>(transacoes.size());
+        List<Integer> indicesValidos = new ArrayList<>(transacoes.size());
+
+        for (int i = 0; i < transacoes.size(); i++) {
+            Transacao transacao = transacoes.get(i);
+            Long categoriaId = transacao.getCategoria() == null ? null : transacao.getCategoria().getId();
+
+            if (categoriaId == null) {
+                resultados.add(ResultadoLoteDTO.falha(i, HttpStatus.BAD_REQUEST.value(),
+                        "A categoria da transação é obrigatória."));
+                continue;
+            }
+            if (transacao.getValor() == null || transacao.getData() == null || transacao.getTipo() == null) {
+                resultados.add(ResultadoLoteDTO.falha(i, HttpStatus.BAD_REQUEST.value(),
+                        "Valor, data e tipo da transação são obrigatórios."));
+                continue;
+            }
+
+            Categoria categoria = categoriaPropria(categorias, categoriaId, userLogado);
+            if (categoria == null) {
+                // Só no caminho de erro o banco é consultado, para distinguir 404 de 403
+                resultados.add(categoriaRepository.existsById(categoriaId)
+                        ? ResultadoLoteDTO.falha(i, HttpStatus.FORBIDDEN.value(),
+                                "A categoria informada não pertence ao usuário logado.")
+                        : ResultadoLoteDTO.falha(i, HttpStatus.NOT_FOUND.value(),
+                                "Categoria não encontrada com ID: " + categoriaId));
+                continue;
+            }
+
+            transacao.setId(null);
+            transacao.setUser(userLogado);
+            transacao.setCategoria(categoria);
+            validas.add(transacao);
+            indicesValidos.add(i);
+            resultados.add(null);
+        }
+
+        if (!validas.isEmpty()) {
+            // Uma versão por transação, reservadas num único UPDATE
+            long versao = versaoService.reservar(userLogado, validas.size()) - validas.size() + 1;
+            for (Transacao transacao : validas) {
+                transacao.setVersao(versao++);
+            }
+        }
+
+        List<Transacao> salvas = transacaoRepository.saveAll(validas);
+        BigDecimal receitas = BigDecimal.ZERO;
+        BigDecimal despesas = BigDecimal.ZERO;
+        for (int i = 0; i < salvas.size(); i++) {
+            Transacao salva = salvas.get(i);
+            int indice = indicesValidos.get(i);
+            resultados.set(indice, ResultadoLoteDTO.criado(indice, salva.getId()));
+
+            if (salva.getTipo() == TipoTransacao.RECEITA) {
+                receitas = receitas.add(salva.getValor());
+            } else if (salva.getTipo() == TipoTransacao.DESPESA) {
+                despesas = despesas.add(salva.getValor());
+            }
         }
+        // Um único UPDATE no saldo para o lote inteiro
+        saldoService.aplicar(userLogado, receitas, despesas);
+        resumoMensalService.registrarInclusoes(salvas);
+        buscaService.registrarAlteracoes(userLogado, salvas);
+
+        return resultados;
+    }
+
+    /**
+     * Atualiza a transação com um UPDATE restrito ao dono. O estado anterior é
+     * lido por projeção (sem junções) só porque saldo, resumo mensal e busca
+     * são ajustados pela diferença.
+     */
+    @CacheEvict(cacheNames = CacheConfig.SALDO, key = "#userLogado.id")
+    public Transacao atualizar(Long id, Transacao transacaoDetails, User userLogado) {
+
+        // 1. 🚨 REGRA DE SEGURANÇA: só encontra a transação se pertencer ao User logado
+        TransacaoEstadoDTO estadoAnterior = transacaoRepository.findEstado(id, userLogado)
+                .orElseThrow(() -> transacaoInacessivel(id, "Você não tem permissão para atualizar esta transação."));
+
+        Map<Long, CategoriaResumoDTO> categorias = categoriaService.categoriasPorId(userLogado);
 
         // 2. Lógica de Atualização de Categoria (se houver mudança)
+        Categoria categoria;
         if (transacaoDetails.getCategoria() != null
-                && !transacaoDetails.getCategoria().getId().equals(transacaoExistente.getCategoria().getId())) {
+                && !transacaoDetails.getCategoria().getId().equals(estadoAnterior.categoriaId())) {
 
-            Categoria novaCategoria = categoriaRepository.findById(transacaoDetails.getCategoria().getId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Nova Categoria não encontrada com ID: " + transacaoDetails.getCategoria().getId()));
+            Long novaCategoriaId = transacaoDetails.getCategoria().getId();
+            categoria = categoriaPropria(categorias, novaCategoriaId, userLogado);
 
             // 🚨 REGRA DE SEGURANÇA: A nova Categoria pertence ao User logado?
-            if (!novaCategoria.getUser().getId().equals(userLogado.getId())) {
+            if (categoria == null) {
+                if (!categoriaRepository.existsById(novaCategoriaId)) {
+                    throw new ResourceNotFoundException("Nova Categoria não encontrada com ID: " + novaCategoriaId);
+                }
                 throw new ResponseStatusException(HttpStatus.FORBIDDEN,
                         "A nova categoria informada não pertence ao usuário logado.");
             }
-            transacaoExistente.setCategoria(novaCategoria);
+        } else {
+            categoria = categoriaPropria(categorias, estadoAnterior.categoriaId(), userLogado);
+            if (categoria == null) {
+                categoria = new Categoria(estadoAnterior.categoriaId(), null, userLogado);
+            }
         }
 
         // 3. Aplicar outras atualizações (Lógica de Negócio)
-        transacaoExistente.setDescricao(transacaoDetails.getDescricao());
-        transacaoExistente.setValor(transacaoDetails.getValor());
-        transacaoExistente.setData(transacaoDetails.getData());
-        transacaoExistente.setTipo(transacaoDetails.getTipo());
+        Transacao salva = new Transacao(transacaoDetails.getDescricao(), transacaoDetails.getValor(),
+                transacaoDetails.getData(), transacaoDetails.getTipo(), userLogado, categoria);
+        salva.setId(id);
+        salva.setVersao(versaoService.incrementar(userLogado));
+
+        int alteradas = transacaoRepository.atualizar(id, userLogado, salva.getDescricao(), salva.getValor(),
+                salva.getData(), salva.getTipo(), categoria, salva.getVersao());
+        if (alteradas == 0) {
+            // Removida por outra requisição entre a leitura e o UPDATE
+            throw new ResourceNotFoundException("Transação não encontrada com id: " + id);
+        }
 
-        return transacaoRepository.save(transacaoExistente);
+        Transacao anterior = estadoAnterior.paraTransacao(userLogado,
+                new Categoria(estadoAnterior.categoriaId(), null, userLogado));
+        saldoService.registrarAlteracao(userLogado, anterior.getTipo(), anterior.getValor(), salva.getTipo(),
+                salva.getValor());
+        resumoMensalService.registrarAlteracao(anterior, salva);
+        buscaService.registrarAlteracao(userLogado, salva);
+        return salva;
     }
 
+    /**
+     * Remove a transação com um DELETE restrito ao dono; o estado anterior é
+     * lido por projeção para desfazer sua contribuição no saldo e no resumo.
+     */
+    @CacheEvict(cacheNames = CacheConfig.SALDO, key = "#userLogado.id")
     public void deletar(Long id, User userLogado) {
 
-        Transacao transacaoExistente = transacaoRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Transação não encontrada com id: " + id));
+        // 1. 🚨 REGRA DE SEGURANÇA: só encontra a transação se pertencer ao User logado
+        TransacaoEstadoDTO estadoAnterior = transacaoRepository.findEstado(id, userLogado)
+                .orElseThrow(() -> transacaoInacessivel(id, "Você não tem permissão para deletar esta transação."));
 
-        // 1. 🚨 REGRA DE SEGURANÇA: A transação pertence ao User logado?
-        if (!transacaoExistente.getUser().getId().equals(userLogado.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN,
-                    "Você não tem permissão para deletar esta transação.");
+        // 2. Deleção, registrada para a sincronização dos clientes
+        long versao = versaoService.incrementar(userLogado);
+        if (transacaoRepository.excluir(id, userLogado) == 0) {
+            throw new ResourceNotFoundException("Transação não encontrada com id: " + id);
         }
+        versaoService.registrarExclusao(userLogado, TipoEntidade.TRANSACAO, id, versao);
 
-        // 2. Deleção
-        transacaoRepository.delete(transacaoExistente);
+        Transacao excluida = estadoAnterior.paraTransacao(userLogado,
+                new Categoria(estadoAnterior.categoriaId(), null, userLogado));
+        saldoService.registrarExclusao(excluida);
+        resumoMensalService.registrarExclusao(excluida);
+        buscaService.registrarExclusao(userLogado, id);
     }
 
+    @Cacheable(cacheNames = CacheConfig.SALDO, key = "#userLogado.id")
     public SaldoDTO getSaldoPorUsuario(User userLogado) {
-        // Busca a soma das RECEITAS. Se não houver, retorna 0.00
-        BigDecimal receitas = transacaoRepository.sumValorByTipoAndUser(TipoTransacao.RECEITA, userLogado)
-                .orElse(BigDecimal.ZERO);
+        // Leitura por chave do saldo materializado, mantido a cada escrita
+        return saldoService.consultar(userLogado);
+    }
 
-        // Busca a soma das DESPESAS. Se não houver, retorna 0.00
-        BigDecimal despesas = transacaoRepository.sumValorByTipoAndUser(TipoTransacao.DESPESA, userLogado)
-                .orElse(BigDecimal.ZERO);
+    @CacheEvict(cacheNames = CacheConfig.SALDO, key = "#userLogado.id")
+    public SaldoDTO reconstruirSaldo(User userLogado) {
+        // O saldo reconstruído pode diferir do materializado; invalida o ETag
+        versaoService.incrementar(userLogado);
+        return saldoService.reconstruir(userLogado);
+    }
 
-        // Calcula o saldo total: Receitas - Despesas
-        BigDecimal saldoTotal = receitas.subtract(despesas);
+    /**
+     * A consulta restrita ao dono não achou a transação: só então o banco é
+     * consultado para separar inexistente (404) de alheia (403).
+     */
+    private RuntimeException transacaoInacessivel(Long id, String mensagemProibida) {
+        if (!transacaoRepository.existsById(id)) {
+            return new ResourceNotFoundException("Transação não encontrada com id: " + id);
+        }
+        return new ResponseStatusException(HttpStatus.FORBIDDEN, mensagemProibida);
+    }
 
-        return new SaldoDTO(receitas, despesas, saldoTotal);
+    /**
+     * Referência à categoria montada a partir das categorias do usuário em
+     * cache, sem ir ao banco. Retorna null se a categoria não for do usuário
+     * (ou não existir).
+     */
+    private Categoria categoriaPropria(Map<Long, CategoriaResumoDTO> categorias, Long categoriaId, User userLogado) {
+        CategoriaResumoDTO categoria = categorias.get(categoriaId);
+        return categoria == null ? null : new Categoria(categoria.id(), categoria.nome(), userLogado);
     }
-}
\ No newline at end of file
+}
@@ -12,10 +12,15 @@ import com.example.financas.repository.UserRepository;
 public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final SaldoService saldoService;
+    private final VersaoService versaoService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, SaldoService saldoService,
+            VersaoService versaoService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.saldoService = saldoService;
+        this.versaoService = versaoService;
     }
 
     public Optional<User> buscarPorId(Long id) {
@@ -40,7 +45,10 @@ public class UserService {
         newUser.setUsername(username);
         newUser.setPassword(passwordEncoder.encode(rawPassword));
 
-        return userRepository.save(newUser);
+        User salvo = userRepository.save(newUser);
+        saldoService.inicializar(salvo);
+        versaoService.inicializar(salvo);
+        return salvo;
     }
 
     public void deletar(Long id) {
@@ -0,0 +1,104 @@
+package com.example.financas.service;
+
+import com.example.financas.model.Exclusao;
+import com.example.financas.model.TipoEntidade;
+import com.example.financas.model.User;
+import com.example.financas.model.VersaoUsuario;
+import com.example.financas.repository.ExclusaoRepository;
+import com.example.financas.repository.VersaoUsuarioRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Versão dos dados de cada usuário, para respostas condicionais (ETag) e
+ * para a sincronização incremental. Toda escrita em transações ou
+ * categorias avança a versão na mesma transação e grava o novo valor na
+ * linha alterada (ou num registro de exclusão). A leitura para ETag vai
+ * sempre ao banco, pela chave primária: um cache descartado após o commit
+ * ainda poderia receber de volta a versão antiga, lida por uma requisição
+ * concorrente antes do commit, e responder 304 para dados já alterados.
+ *
+ * As versões partem do relógio no momento em que a linha é criada, e não de
+ * zero, para que um banco recriado (o H2 em memória, por exemplo) não repita
+ * ETags já entregues aos clientes com outro conteúdo.
+ */
+@Service
+@Transactional
+public class VersaoService {
+
+    // Versão dos usuários sem linha (criados antes dela existir) neste processo
+    private static final long VERSAO_INICIAL = System.currentTimeMillis();
+
+    private final VersaoUsuarioRepository versaoUsuarioRepository;
+    private final ExclusaoRepository exclusaoRepository;
+
+    public VersaoService(VersaoUsuarioRepository versaoUsuarioRepository, ExclusaoRepository exclusaoRepository) {
+        this.versaoUsuarioRepository = versaoUsuarioRepository;
+        this.exclusaoRepository = exclusaoRepository;
+    }
+
+    /**
+     * Última versão já confirmada no banco, lida por chave primária. Como cada
+     * escrita mantém a linha de versão bloqueada até o commit, todas as linhas
+     * com versão até esse valor já estão visíveis.
+     */
+    @Transactional(readOnly = true)
+    public long consultar(User user) {
+        return versaoUsuarioRepository.buscarVersao(user.getId()).orElse(VERSAO_INICIAL);
+    }
+
+    /**
+     * ETag forte para a versão, no formato entre aspas do HTTP.
+     */
+    public static String etag(long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    public void inicializar(User user) {
+        versaoUsuarioRepository.save(new VersaoUsuario(user.getId(), System.currentTimeMillis()));
+    }
+
+    /**
+     * Avança a versão do usuário e retorna o novo valor, para gravar na linha
+     * escrita. O UPDATE bloqueia a linha de versão até o commit, então as
+     * escritas de um mesmo usuário recebem versões na ordem em que confirmam.
+     * Deve ser a primeira escrita da transação: com a versão sempre bloqueada
+     * antes de transações, categorias e saldo, escritas concorrentes do mesmo
+     * usuário não entram em deadlock.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long incrementar(User user) {
+        return avancar(user, 1);
+    }
+
+    /**
+     * Reserva 'quantidade' versões consecutivas de uma vez, para escritas em
+     * lote, e retorna a última; a primeira é {@code ultima - quantidade + 1}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long reservar(User user, int quantidade) {
+        if (quantidade < 1) {
+            throw new IllegalArgumentException("A quantidade de versões deve ser positiva.");
+        }
+        return avancar(user, quantidade);
+    }
+
+    /**
+     * Registra a exclusão de uma transação ou categoria para a sincronização,
+     * com a versão já reservada por {@link #incrementar}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarExclusao(User user, TipoEntidade entidade, Long id, long versao) {
+        exclusaoRepository.save(new Exclusao(user.getId(), entidade, id, versao));
+    }
+
+    private long avancar(User user, int quantidade) {
+        if (versaoUsuarioRepository.avancar(user.getId(), quantidade) == 0) {
+            long versao = Math.max(System.currentTimeMillis(), VERSAO_INICIAL + 1) + quantidade - 1;
+            versaoUsuarioRepository.save(new VersaoUsuario(user.getId(), versao));
+            return versao;
+        }
+        return versaoUsuarioRepository.buscarVersao(user.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.financas.config;
+
+import com.example.financas.dto.CategoriaResumoDTO;
+import com.example.financas.dto.SaldoDTO;
+import com.example.financas.model.Categoria;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.Transacao;
+import com.example.financas.model.User;
+import com.example.financas.service.CategoriaService;
+import com.example.financas.service.TransacaoService;
+import com.example.financas.service.UserService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sem @Transactional: o proxy do cache só remove as entradas depois do commit,
+ * então cada escrita precisa confirmar a própria transação.
+ */
+@SpringBootTest
+class CacheConfigTest {
+
+        @Autowired
+        private CacheManager cacheManager;
+
+        @Autowired
+        private UserService userService;
+
+        @Autowired
+        private CategoriaService categoriaService;
+
+        @Autowired
+        private TransacaoService transacaoService;
+
+        private User usuario;
+        private Categoria categoria;
+
+        @BeforeEach
+        void setUp() {
+                usuario = userService.registrarNovoUsuario("cache-" + UUID.randomUUID(), "senha");
+                categoria = categoriaService.salvar(new Categoria("Mercado"), usuario);
+        }
+
+        private CacheStats estatisticas(String nome) {
+                Object nativo = cacheManager.getCache(nome).getNativeCache();
+                return ((com.github.benmanes.caffeine.cache.Cache<?, ?>) nativo).stats();
+        }
+
+        @Test
+        void segundaLeituraDoSaldoDeveVirDoCacheEAEscritaDeveRemover() {
+                Cache saldos = cacheManager.getCache(CacheConfig.SALDO);
+
+                SaldoDTO primeira = transacaoService.getSaldoPorUsuario(usuario);
+                long acertosAntes = estatisticas(CacheConfig.SALDO).hitCount();
+                SaldoDTO segunda = transacaoService.getSaldoPorUsuario(usuario);
+
+                assertSame(primeira, segunda);
+                assertEquals(acertosAntes + 1, estatisticas(CacheConfig.SALDO).hitCount());
+
+                transacaoService.criar(new Transacao("Feira", new BigDecimal("45.90"), LocalDate.of(2026, 3, 5),
+                                TipoTransacao.DESPESA, null, new Categoria(categoria.getId(), null, null)), usuario);
+
+                assertNull(saldos.get(usuario.getId()));
+                SaldoDTO depois = transacaoService.getSaldoPorUsuario(usuario);
+                assertNotSame(segunda, depois);
+                assertEquals(0, new BigDecimal("45.90").compareTo(depois.getDespesas()));
+        }
+
+        @Test
+        void segundaListagemDeCategoriasDeveVirDoCacheEASalvarDeveRemover() {
+                Cache categorias = cacheManager.getCache(CacheConfig.CATEGORIAS);
+
+                List<CategoriaResumoDTO> primeira = categoriaService.listar(usuario);
+                long acertosAntes = estatisticas(CacheConfig.CATEGORIAS).hitCount();
+                List<CategoriaResumoDTO> segunda = categoriaService.listar(usuario);
+
+                assertSame(primeira, segunda);
+                assertEquals(acertosAntes + 1, estatisticas(CacheConfig.CATEGORIAS).hitCount());
+
+                categoriaService.salvar(new Categoria("Moradia"), usuario);
+
+                assertNull(categorias.get(usuario.getId()));
+                assertEquals(2, categoriaService.listar(usuario).size());
+        }
+}
@@ -0,0 +1,38 @@
+package com.example.financas.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Os beans Executor de login e do dashboard não podem tirar do MVC o
+ * executor da aplicação: as exportações (StreamingResponseBody) precisam
+ * rodar nele, com limite, e não no SimpleAsyncTaskExecutor padrão do MVC.
+ */
+@SpringBootTest
+class ExecutorAssincronoMvcTest {
+
+        @Autowired
+        private RequestMappingHandlerAdapter handlerAdapter;
+
+        @Autowired
+        @Qualifier("applicationTaskExecutor")
+        private AsyncTaskExecutor applicationTaskExecutor;
+
+        @Test
+        void mvcDeveUsarOExecutorDaAplicacao() {
+                Object executorMvc = ReflectionTestUtils.getField(handlerAdapter, "taskExecutor");
+
+                assertSame(applicationTaskExecutor, executorMvc);
+                ThreadPoolTaskExecutor pool = assertInstanceOf(ThreadPoolTaskExecutor.class, executorMvc);
+                assertEquals(32, pool.getMaxPoolSize());
+                assertEquals(100, pool.getQueueCapacity());
+        }
+}
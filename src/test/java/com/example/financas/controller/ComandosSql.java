@@ -0,0 +1,47 @@
+package com.example.financas.controller;
+
+import com.example.financas.config.ContadorSql;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Mede os comandos SQL que um trecho executa na thread atual, usando o
+ * {@link ContadorSql} (o contexto precisa de debug.sql.habilitado=true para
+ * que o DataSource seja envolvido). As buscas de ids nas sequências ficam de
+ * fora: o Hibernate reserva blocos de 50 ids e a busca cai numa requisição ou
+ * noutra conforme a ordem em que os testes rodam.
+ */
+final class ComandosSql {
+
+        interface Trecho {
+                void executar() throws Exception;
+        }
+
+        record Medicao(List<String> sql) {
+
+                int quantidade() {
+                        return sql.size();
+                }
+
+                @Override
+                public String toString() {
+                        return quantidade() + " comandos: " + String.join("\n    ", sql);
+                }
+        }
+
+        private ComandosSql() {
+        }
+
+        static Medicao medir(Trecho trecho) throws Exception {
+                ContadorSql.Contagem contagem = ContadorSql.iniciar();
+                try {
+                        trecho.executar();
+                } finally {
+                        ContadorSql.encerrar(contagem);
+                }
+                return new Medicao(contagem.getSql().stream()
+                                .filter(sql -> sql == null || !sql.toLowerCase(Locale.ROOT).contains("next value for"))
+                                .toList());
+        }
+}
@@ -0,0 +1,378 @@
+package com.example.financas.controller;
+
+import com.example.financas.config.AutenticacaoConfig;
+import com.example.financas.dto.ResultadoLoteDTO;
+import com.example.financas.model.Categoria;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.Transacao;
+import com.example.financas.model.User;
+import com.example.financas.service.CategoriaService;
+import com.example.financas.service.TokenService;
+import com.example.financas.service.TransacaoService;
+import com.example.financas.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Quantidade exata de comandos SQL de cada endpoint. Cada um é chamado para
+ * um usuário com 3 transações e para outro com 80, com os caches no mesmo
+ * estado, e os dois precisam executar exatamente o número esperado. Uma
+ * consulta extra por linha (uma associação lazy lida na serialização, por
+ * exemplo) faz a contagem crescer com os dados; uma consulta nova no caminho
+ * muda o número fixado. Nos dois casos o teste falha listando os comandos.
+ *
+ * A exportação escreve o corpo no executor assíncrono do MVC; aqui ele roda
+ * cada tarefa numa thread própria, medida à parte e somada à requisição.
+ */
+@SpringBootTest(properties = "debug.sql.habilitado=true")
+@AutoConfigureMockMvc
+class ComandosSqlPorEndpointTest {
+
+        private static final String SENHA = "senha123";
+
+        // Comandos executados no executor assíncrono do MVC durante a medição atual
+        private static final List<ComandosSql.Medicao> MEDICOES_ASSINCRONAS = new CopyOnWriteArrayList<>();
+        private static final List<Thread> THREADS_ASSINCRONAS = new CopyOnWriteArrayList<>();
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private UserService userService;
+
+        @Autowired
+        private CategoriaService categoriaService;
+
+        @Autowired
+        private TransacaoService transacaoService;
+
+        @Autowired
+        private TokenService tokenService;
+
+        // O login roda no pool de login; aqui na própria thread, para ser contado
+        @MockitoBean(name = AutenticacaoConfig.EXECUTOR_LOGIN)
+        private ThreadPoolExecutor loginExecutor;
+
+        @TestBean(name = "applicationTaskExecutor")
+        private AsyncTaskExecutor executorMvc;
+
+        private Massa pequena;
+        private Massa grande;
+
+        /** Usuário de teste com suas categorias e a primeira transação criada. */
+        private record Massa(User user, String token, Long categoria, Long categoriaSemTransacoes,
+                        Long transacao) {
+        }
+
+        private interface Requisicao {
+                void executar(Massa massa) throws Exception;
+        }
+
+        /**
+         * Roda cada tarefa assíncrona numa thread nova, sem esperar por ela, como
+         * o executor real: a requisição volta com o processamento assíncrono
+         * iniciado e a tarefa corre em paralelo. Não pode ser a própria thread da
+         * requisição: o EntityManager da requisição ainda está associado a ela
+         * quando a tarefa começa. {@link #medir} espera as threads antes de somar.
+         */
+        static AsyncTaskExecutor executorMvc() {
+                return new TaskExecutorAdapter(tarefa -> {
+                        Thread thread = new Thread(() -> {
+                                try {
+                                        MEDICOES_ASSINCRONAS.add(ComandosSql.medir(tarefa::run));
+                                } catch (Exception e) {
+                                        throw new IllegalStateException(e);
+                                }
+                        });
+                        THREADS_ASSINCRONAS.add(thread);
+                        thread.start();
+                });
+        }
+
+        @BeforeEach
+        void setUp() {
+                doAnswer(invocation -> {
+                        invocation.<Runnable>getArgument(0).run();
+                        return null;
+                }).when(loginExecutor).execute(any(Runnable.class));
+
+                pequena = criarMassa(3, 0);
+                grande = criarMassa(80, 4);
+        }
+
+        private Massa criarMassa(int quantidadeTransacoes, int categoriasExtras) {
+                User user = userService.registrarNovoUsuario("sql-" + UUID.randomUUID(), SENHA);
+
+                Categoria principal = categoriaService.salvar(new Categoria("Mercado"), user);
+                Categoria vazia = categoriaService.salvar(new Categoria("Sem transações"), user);
+                List<Categoria> categorias = new ArrayList<>();
+                categorias.add(principal);
+                categorias.add(categoriaService.salvar(new Categoria("Moradia"), user));
+                for (int i = 0; i < categoriasExtras; i++) {
+                        categorias.add(categoriaService.salvar(new Categoria("Extra " + i), user));
+                }
+
+                // As duas primeiras no mês atual e na categoria principal, como as escritas dos testes,
+                // para que as linhas do resumo mensal já existam nos dois usuários
+                LocalDate hoje = LocalDate.now();
+                List<Transacao> transacoes = new ArrayList<>();
+                transacoes.add(new Transacao("Mercado do mês", new BigDecimal("120.00"), hoje,
+                                TipoTransacao.DESPESA, user, principal));
+                transacoes.add(new Transacao("Salário", new BigDecimal("3000.00"), hoje,
+                                TipoTransacao.RECEITA, user, principal));
+                for (int i = 2; i < quantidadeTransacoes; i++) {
+                        transacoes.add(new Transacao("Mercado " + i, new BigDecimal(10 + i), hoje.minusMonths(i % 12),
+                                        TipoTransacao.DESPESA, user, categorias.get(i % categorias.size())));
+                }
+                List<ResultadoLoteDTO> resultados = transacaoService.criarEmLote(transacoes, user);
+
+                return new Massa(user, "Bearer " + tokenService.generateToken(user), principal.getId(),
+                                vazia.getId(), resultados.get(0).id());
+        }
+
+        private void assertComandos(String endpoint, int esperado, Requisicao requisicao) throws Exception {
+                ComandosSql.Medicao comPoucos = medir(requisicao, pequena);
+                ComandosSql.Medicao comMuitos = medir(requisicao, grande);
+
+                assertEquals(esperado, comPoucos.quantidade(),
+                                () -> endpoint + " com 3 transações: " + comPoucos);
+                assertEquals(esperado, comMuitos.quantidade(),
+                                () -> endpoint + " com 80 transações: " + comMuitos);
+        }
+
+        private ComandosSql.Medicao medir(Requisicao requisicao, Massa massa) throws Exception {
+                MEDICOES_ASSINCRONAS.clear();
+                THREADS_ASSINCRONAS.clear();
+                ComandosSql.Medicao naRequisicao = ComandosSql.medir(() -> requisicao.executar(massa));
+                for (Thread thread : THREADS_ASSINCRONAS) {
+                        thread.join();
+                }
+                List<String> sql = new ArrayList<>(naRequisicao.sql());
+                MEDICOES_ASSINCRONAS.forEach(medicao -> sql.addAll(medicao.sql()));
+                return new ComandosSql.Medicao(sql);
+        }
+
+        private MockHttpServletRequestBuilder autenticado(MockHttpServletRequestBuilder builder, Massa massa) {
+                return builder.header(HttpHeaders.AUTHORIZATION, massa.token());
+        }
+
+        private static String transacaoJson(Long categoriaId, String valor) {
+                return "{\"descricao\":\"Mercado\",\"valor\":" + valor + ",\"data\":\"" + LocalDate.now()
+                                + "\",\"tipo\":\"DESPESA\",\"categoria\":{\"id\":" + categoriaId + "}}";
+        }
+
+        // Transações
+
+        @Test
+        void listarTransacoes() throws Exception {
+                assertComandos("GET /transacoes", 2, massa -> mockMvc
+                                .perform(autenticado(get("/transacoes"), massa))
+                                .andExpect(status().isOk()));
+        }
+
+        @Test
+        void listarPaginaDeTransacoes() throws Exception {
+                assertComandos("GET /transacoes/pagina", 1, massa -> mockMvc
+                                .perform(autenticado(get("/transacoes/pagina").param("size", "20"), massa))
+                                .andExpect(status().isOk()));
+        }
+
+        @Test
+        void buscarTransacoes() throws Exception {
+                assertComandos("GET /transacoes/busca", 1, massa -> mockMvc
+                                .perform(autenticado(get("/transacoes/busca").param("q", "mercado"), massa))
+                                .andExpect(status().isOk()));
+        }
+
+        @Test
+        void exportarTransacoes() throws Exception {
+                assertComandos("GET /transacoes/exportar", 1, massa -> {
+                        MvcResult resultado = mockMvc.perform(autenticado(get("/transacoes/exportar"), massa))
+                                        .andExpect(request().asyncStarted())
+                                        .andReturn();
+                        mockMvc.perform(asyncDispatch(resultado)).andExpect(status().isOk());
+                });
+        }
+
+        @Test
+        void criarTransacao() throws Exception {
+                assertComandos("POST /transacoes", 5, massa -> mockMvc
+                                .perform(autenticado(post("/transacoes"), massa)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(transacaoJson(massa.categoria(), "25.50")))
+                                .andExpect(status().isCreated()));
+        }
+
+        @Test
+        void criarTransacoesEmLote() throws Exception {
+                assertComandos("POST /transacoes/lote", 5, massa -> {
+                        List<String> itens = new ArrayList<>();
+                        for (int i = 0; i < 5; i++) {
+                                itens.add(transacaoJson(massa.categoria(), (i + 1) + ".00"));
+                        }
+                        mockMvc.perform(autenticado(post("/transacoes/lote"), massa)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content("[" + String.join(",", itens) + "]"))
+                                        .andExpect(status().isOk());
+                });
+        }
+
+        @Test
+        void importarExtrato() throws Exception {
+                assertComandos("POST /transacoes/importar", 6, massa -> {
+                        StringBuilder csv = new StringBuilder("data,valor,descricao,tipo\n");
+                        for (int i = 0; i < 5; i++) {
+                                csv.append(LocalDate.now()).append(',').append(i + 1).append(".00,Padaria,DESPESA\n");
+                        }
+                        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "extrato.csv", "text/csv",
+                                        csv.toString().getBytes(StandardCharsets.UTF_8));
+                        mockMvc.perform(autenticado(multipart("/transacoes/importar").file(arquivo), massa)
+                                        .param("categoriaId", massa.categoria().toString()))
+                                        .andExpect(status().isOk());
+                });
+        }
+
+        @Test
+        void atualizarTransacao() throws Exception {
+                assertComandos("PUT /transacoes/{id}", 6, massa -> mockMvc
+                                .perform(autenticado(put("/transacoes/" + massa.transacao()), massa)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(transacaoJson(massa.categoria(), "130.00")))
+                                .andExpect(status().isOk()));
+        }
+
+        @Test
+        void deletarTransacao() throws Exception {
+                assertComandos("DELETE /transacoes/{id}", 7, massa -> mockMvc
+                                .perform(autenticado(delete("/transacoes/" + massa.transacao()), massa))
+                                .andExpect(status().isNoContent()));
+        }
+
+        @Test
+        void consultarSaldo() throws Exception {
+                assertComandos("GET /transacoes/saldo", 2, massa -> mockMvc
+                                .perform(autenticado(get("/transacoes/saldo"), massa))
+                                .andExpect(status().isOk()));
+        }
+
+        @Test
+        void consultarSerieDeSaldo() throws Exception {
+                assertComandos("GET /transacoes/saldo/serie", 2, massa -> mockMvc
+                                .perform(autenticado(get("/transacoes/saldo/serie"), massa))
+                                .andExpect(status().isOk()));
+        }
+
+        @Test
+        void reconstruirSaldo() throws Exception {
+                // Versão (UPDATE e SELECT), a agregação e a leitura da linha pelo merge; sem UPDATE, o saldo já bate
+                assertComandos("POST /transacoes/saldo/reconstruir", 4, massa -> mockMvc
+                                .perform(autenticado(post("/transacoes/saldo/reconstruir"), massa))
+                                .andExpect(status().isOk()));
+        }
+
+        // Categorias
+
+        @Test
+        void listarCategorias() throws Exception {
+                assertComandos("GET /categorias", 2, massa -> mockMvc
+                                .perform(autenticado(get("/categorias"), massa))
+                                .andExpect(status().isOk()));
+        }
+
+        @Test
+        void buscarCategoriaPorId() throws Exception {
+                assertComandos("GET /categorias/{id}", 1, massa -> mockMvc
+                                .perform(autenticado(get("/categorias/" + massa.categoria()), massa))
+                                .andExpect(status().isOk()));
+        }
+
+        @Test
+        void criarCategoria() throws Exception {
+                assertComandos("POST /categorias", 3, massa -> mockMvc
+                                .perform(autenticado(post("/categorias"), massa)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("{\"nome\":\"Lazer\"}"))
+                                .andExpect(status().isCreated()));
+        }
+
+        @Test
+        void atualizarCategoria() throws Exception {
+                assertComandos("PUT /categorias/{id}", 4, massa -> mockMvc
+                                .perform(autenticado(put("/categorias/" + massa.categoria()), massa)
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("{\"nome\":\"Supermercado\"}"))
+                                .andExpect(status().isOk()));
+        }
+
+        @Test
+        void deletarCategoria() throws Exception {
+                assertComandos("DELETE /categorias/{id}", 5, massa -> mockMvc
+                                .perform(autenticado(delete("/categorias/" + massa.categoriaSemTransacoes()), massa))
+                                .andExpect(status().isNoContent()));
+        }
+
+        // Autenticação
+
+        @Test
+        void login() throws Exception {
+                assertComandos("POST /auth/login", 1, massa -> {
+                        MvcResult resultado = mockMvc.perform(post("/auth/login")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content("{\"username\":\"" + massa.user().getUsername() + "\",\"password\":\""
+                                                        + SENHA + "\"}"))
+                                        .andExpect(request().asyncStarted())
+                                        .andReturn();
+                        mockMvc.perform(asyncDispatch(resultado)).andExpect(status().isOk());
+                });
+        }
+
+        @Test
+        void renovarToken() throws Exception {
+                assertComandos("POST /auth/refresh", 1, massa -> mockMvc
+                                .perform(post("/auth/refresh")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("{\"refreshToken\":\""
+                                                                + tokenService.generateRefreshToken(massa.user()) + "\"}"))
+                                .andExpect(status().isOk()));
+        }
+
+        @Test
+        void registrarUsuario() throws Exception {
+                // Não depende de dados do usuário. Saldo e versão têm id atribuído: o save faz SELECT e INSERT
+                assertComandos("POST /auth/register", 6, massa -> mockMvc
+                                .perform(post("/auth/register")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("{\"username\":\"sql-" + UUID.randomUUID()
+                                                                + "\",\"password\":\"" + SENHA + "\"}"))
+                                .andExpect(status().isCreated()));
+        }
+}
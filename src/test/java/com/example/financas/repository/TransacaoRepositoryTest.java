@@ -0,0 +1,76 @@
+package com.example.financas.repository;
+
+import com.example.financas.dto.TransacaoResumoDTO;
+import com.example.financas.model.Categoria;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.Transacao;
+import com.example.financas.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class TransacaoRepositoryTest {
+
+        @Autowired
+        private TransacaoRepository transacaoRepository;
+
+        @Autowired
+        private CategoriaRepository categoriaRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        private User usuario;
+        private Categoria categoria;
+
+        @BeforeEach
+        void setUp() {
+                usuario = userRepository.save(new User("repositorio-" + UUID.randomUUID(), "senha"));
+                categoria = categoriaRepository.save(new Categoria(null, "Mercado", usuario));
+        }
+
+        private Transacao salvar(String descricao, LocalDate data) {
+                return transacaoRepository.save(new Transacao(descricao, new BigDecimal("10.00"), data,
+                                TipoTransacao.DESPESA, usuario, categoria));
+        }
+
+        @Test
+        void findRecentesDeveRetornarAsMaisNovasPrimeiro() {
+                // Gravadas fora de ordem de data, com duas no mesmo dia (desempate pelo id)
+                salvar("Março", LocalDate.of(2026, 3, 10));
+                salvar("Janeiro", LocalDate.of(2026, 1, 5));
+                Transacao abrilPrimeira = salvar("Abril 1", LocalDate.of(2026, 4, 1));
+                salvar("Fevereiro", LocalDate.of(2026, 2, 20));
+                Transacao abrilSegunda = salvar("Abril 2", LocalDate.of(2026, 4, 1));
+
+                // Outro usuário com transações mais novas não pode aparecer
+                User outro = userRepository.save(new User("repositorio-" + UUID.randomUUID(), "senha"));
+                Categoria categoriaDoOutro = categoriaRepository.save(new Categoria(null, "Outra", outro));
+                transacaoRepository.save(new Transacao("Do outro", new BigDecimal("1.00"), LocalDate.of(2026, 12, 31),
+                                TipoTransacao.DESPESA, outro, categoriaDoOutro));
+
+                List<TransacaoResumoDTO> recentes = transacaoRepository.findRecentes(usuario, Limit.of(3));
+
+                assertEquals(List.of(abrilSegunda.getId(), abrilPrimeira.getId()),
+                                recentes.subList(0, 2).stream().map(TransacaoResumoDTO::id).toList());
+                assertEquals(List.of("Abril 2", "Abril 1", "Março"),
+                                recentes.stream().map(TransacaoResumoDTO::descricao).toList());
+        }
+
+        @Test
+        void findRecentesSemTransacoesDeveRetornarListaVazia() {
+                assertTrue(transacaoRepository.findRecentes(usuario, Limit.of(10)).isEmpty());
+        }
+}
@@ -0,0 +1,90 @@
+package com.example.financas.service;
+
+import com.example.financas.dto.TransacaoResumoDTO;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.User;
+import com.example.financas.repository.TransacaoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BuscaServiceTest {
+
+        private TransacaoRepository transacaoRepository;
+        private BuscaService buscaService;
+        private User usuario;
+        private List<TransacaoResumoDTO> transacoes;
+
+        @BeforeEach
+        void setUp() {
+                transacaoRepository = mock(TransacaoRepository.class);
+                buscaService = new BuscaService(transacaoRepository, 10, Duration.ofMinutes(30),
+                                new SimpleMeterRegistry());
+
+                usuario = new User("proprietario", "senha");
+                usuario.setId(UUID.randomUUID());
+                transacoes = List.of(new TransacaoResumoDTO(1L, new BigDecimal("40.00"), LocalDate.now(),
+                                "Mercado", TipoTransacao.DESPESA, 7L, "Alimentação"));
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<UUID, ?> contadores() {
+                return (Map<UUID, ?>) ReflectionTestUtils.getField(buscaService, "escritas");
+        }
+
+        @Test
+        void buscaDeveMontarOIndiceUmaVezEReaproveitar() {
+                when(transacaoRepository.findResumoByUser(usuario)).thenReturn(transacoes);
+
+                assertEquals(1, buscaService.buscar(usuario, "mercado", 10).size());
+                assertEquals(1, buscaService.buscar(usuario, "mercado", 10).size());
+
+                verify(transacaoRepository, times(1)).findResumoByUser(usuario);
+        }
+
+        @Test
+        void escritasContinuasNaoDevemPrenderABuscaEmRecargas() {
+                // Toda carga vê uma escrita confirmada no meio dela
+                when(transacaoRepository.findResumoByUser(usuario)).thenAnswer(invocacao -> {
+                        buscaService.registrarExclusao(usuario, 99L);
+                        return transacoes;
+                });
+
+                assertEquals(1, buscaService.buscar(usuario, "mercado", 10).size());
+                verify(transacaoRepository, times(BuscaService.MAXIMO_TENTATIVAS)).findResumoByUser(usuario);
+
+                // O índice devolvido não foi guardado, e o contador não ficou para trás
+                assertTrue(contadores().isEmpty());
+                buscaService.buscar(usuario, "mercado", 10);
+                verify(transacaoRepository, times(2 * BuscaService.MAXIMO_TENTATIVAS)).findResumoByUser(usuario);
+        }
+
+        @Test
+        void escritaSemIndiceNaoDeveCriarContador() {
+                buscaService.registrarExclusao(usuario, 1L);
+
+                assertTrue(contadores().isEmpty());
+        }
+
+        @Test
+        void indiceRemovidoDeveLevarJuntoOContador() {
+                when(transacaoRepository.findResumoByUser(usuario)).thenReturn(transacoes);
+                buscaService.buscar(usuario, "mercado", 10);
+                assertTrue(contadores().containsKey(usuario.getId()));
+
+                buscaService.invalidar(usuario);
+
+                assertTrue(contadores().isEmpty());
+        }
+}
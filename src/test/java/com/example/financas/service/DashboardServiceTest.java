@@ -0,0 +1,123 @@
+package com.example.financas.service;
+
+import com.example.financas.dto.DashboardDTO;
+import com.example.financas.dto.ResumoMensalDTO;
+import com.example.financas.dto.SaldoDTO;
+import com.example.financas.dto.TransacaoResumoDTO;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DashboardServiceTest {
+
+        private SaldoService saldoService;
+        private TransacaoService transacaoService;
+        private ResumoMensalService resumoMensalService;
+        private ExecutorService executor;
+
+        private User usuario;
+        private SaldoDTO saldo;
+        private List<TransacaoResumoDTO> recentes;
+        private List<ResumoMensalDTO> despesas;
+
+        @BeforeEach
+        void setUp() {
+                saldoService = mock(SaldoService.class);
+                transacaoService = mock(TransacaoService.class);
+                resumoMensalService = mock(ResumoMensalService.class);
+                executor = Executors.newFixedThreadPool(3);
+
+                usuario = new User("proprietario", "senha");
+                usuario.setId(UUID.randomUUID());
+
+                saldo = new SaldoDTO(new BigDecimal("100.00"), new BigDecimal("40.00"), new BigDecimal("60.00"));
+                recentes = List.of(new TransacaoResumoDTO(1L, new BigDecimal("40.00"), LocalDate.now(),
+                                "Mercado", TipoTransacao.DESPESA, 7L, "Alimentação"));
+                despesas = List.of(new ResumoMensalDTO(YearMonth.now().atDay(1), 7L, "Alimentação",
+                                TipoTransacao.DESPESA, new BigDecimal("40.00"), 1));
+
+                when(saldoService.consultar(usuario)).thenReturn(saldo);
+                when(transacaoService.listarRecentes(usuario, 10)).thenReturn(recentes);
+                when(resumoMensalService.maioresCategorias(eq(usuario), any(YearMonth.class),
+                                eq(TipoTransacao.DESPESA), eq(5))).thenReturn(despesas);
+        }
+
+        @AfterEach
+        void tearDown() {
+                executor.shutdownNow();
+        }
+
+        private DashboardService dashboardService(Executor executor, Duration timeout) {
+                return new DashboardService(saldoService, transacaoService, resumoMensalService, executor,
+                                timeout, 10, 5);
+        }
+
+        @Test
+        void montarDeveReunirAsTresPartes() {
+                DashboardDTO dashboard = dashboardService(executor, Duration.ofSeconds(2)).montar(usuario);
+
+                assertSame(saldo, dashboard.saldo());
+                assertEquals(recentes, dashboard.recentes());
+                assertEquals(despesas, dashboard.maioresDespesas());
+                assertTrue(dashboard.indisponiveis().isEmpty());
+        }
+
+        @Test
+        void parteLentaDeveSairComoIndisponivelSemAtrasarAsOutras() {
+                when(saldoService.consultar(usuario)).thenAnswer(invocacao -> {
+                        Thread.sleep(2_000);
+                        return saldo;
+                });
+
+                long inicio = System.nanoTime();
+                DashboardDTO dashboard = dashboardService(executor, Duration.ofMillis(100)).montar(usuario);
+                long decorridoMillis = (System.nanoTime() - inicio) / 1_000_000;
+
+                assertNull(dashboard.saldo());
+                assertEquals(recentes, dashboard.recentes());
+                assertEquals(despesas, dashboard.maioresDespesas());
+                assertEquals(List.of(DashboardService.SALDO), dashboard.indisponiveis());
+                assertTrue(decorridoMillis < 1_500, "Esperou a parte lenta: " + decorridoMillis + " ms");
+        }
+
+        @Test
+        void parteComFalhaNaoDeveDerrubarAsOutras() {
+                when(transacaoService.listarRecentes(usuario, 10)).thenThrow(new IllegalStateException("falhou"));
+
+                DashboardDTO dashboard = dashboardService(executor, Duration.ofSeconds(2)).montar(usuario);
+
+                assertSame(saldo, dashboard.saldo());
+                assertNull(dashboard.recentes());
+                assertEquals(List.of(DashboardService.RECENTES), dashboard.indisponiveis());
+        }
+
+        @Test
+        void executorSaturadoDeveMarcarTodasAsPartesComoIndisponiveis() {
+                Executor saturado = tarefa -> {
+                        throw new RejectedExecutionException("cheio");
+                };
+
+                DashboardDTO dashboard = dashboardService(saturado, Duration.ofSeconds(2)).montar(usuario);
+
+                assertEquals(List.of(DashboardService.SALDO, DashboardService.RECENTES,
+                                DashboardService.MAIORES_DESPESAS), dashboard.indisponiveis());
+                verifyNoInteractions(saldoService, transacaoService, resumoMensalService);
+        }
+}
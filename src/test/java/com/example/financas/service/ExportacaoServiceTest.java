@@ -0,0 +1,158 @@
+package com.example.financas.service;
+
+import com.example.financas.dto.FormatoExportacao;
+import com.example.financas.model.Categoria;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.Transacao;
+import com.example.financas.model.User;
+import com.example.financas.repository.TransacaoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ExportacaoServiceTest {
+
+        private static final String CABECALHO_CSV = "id,data,descricao,valor,tipo,categoria_id,categoria_nome";
+
+        private TransacaoRepository transacaoRepository;
+        private EntityManager entityManager;
+        private ObjectMapper objectMapper;
+        private ExportacaoService exportacaoService;
+
+        private User usuario;
+        private Categoria mercado;
+
+        @BeforeEach
+        void setUp() {
+                transacaoRepository = mock(TransacaoRepository.class);
+                entityManager = mock(EntityManager.class);
+                objectMapper = JsonMapper.builder().build();
+                exportacaoService = new ExportacaoService(transacaoRepository, entityManager, objectMapper);
+
+                usuario = new User();
+                usuario.setId(UUID.randomUUID());
+                mercado = new Categoria(7L, "Mercado", usuario);
+        }
+
+        private Transacao transacao(long id, String descricao, String valor, TipoTransacao tipo, Categoria categoria) {
+                Transacao transacao = new Transacao(descricao, new BigDecimal(valor), LocalDate.of(2026, 3, 5), tipo,
+                                usuario, categoria);
+                transacao.setId(id);
+                return transacao;
+        }
+
+        private String exportar(FormatoExportacao formato, List<Transacao> transacoes) throws Exception {
+                when(transacaoRepository.streamByUser(usuario)).thenReturn(transacoes.stream());
+                ByteArrayOutputStream saida = new ByteArrayOutputStream();
+                exportacaoService.exportar(usuario, formato, saida);
+                return saida.toString(StandardCharsets.UTF_8);
+        }
+
+        @Test
+        void csvDeveComecarPeloCabecalhoEEscreverUmaLinhaPorTransacao() throws Exception {
+                String csv = exportar(FormatoExportacao.CSV, List.of(
+                                transacao(1L, "Feira", "45.90", TipoTransacao.DESPESA, mercado),
+                                transacao(2L, "Salário", "3000.00", TipoTransacao.RECEITA, mercado)));
+
+                assertEquals(CABECALHO_CSV + "\n"
+                                + "1,2026-03-05,Feira,45.90,DESPESA,7,Mercado\n"
+                                + "2,2026-03-05,Salário,3000.00,RECEITA,7,Mercado\n", csv);
+        }
+
+        @Test
+        void csvDeveEscaparVirgulaAspasEQuebraDeLinha() throws Exception {
+                Categoria comVirgula = new Categoria(8L, "Casa, reforma", usuario);
+                String csv = exportar(FormatoExportacao.CSV, List.of(
+                                transacao(1L, "Tinta, pincel", "10.00", TipoTransacao.DESPESA, mercado),
+                                transacao(2L, "Loja \"Central\"", "20.00", TipoTransacao.DESPESA, mercado),
+                                transacao(3L, "Parcela\n2/3", "30.00", TipoTransacao.DESPESA, mercado),
+                                transacao(4L, "Pedreiro", "40.00", TipoTransacao.DESPESA, comVirgula),
+                                transacao(5L, "Gás; água", "50.00", TipoTransacao.DESPESA, mercado)));
+
+                assertEquals(CABECALHO_CSV + "\n"
+                                + "1,2026-03-05,\"Tinta, pincel\",10.00,DESPESA,7,Mercado\n"
+                                + "2,2026-03-05,\"Loja \"\"Central\"\"\",20.00,DESPESA,7,Mercado\n"
+                                + "3,2026-03-05,\"Parcela\n2/3\",30.00,DESPESA,7,Mercado\n"
+                                + "4,2026-03-05,Pedreiro,40.00,DESPESA,8,\"Casa, reforma\"\n"
+                                // O separador é a vírgula: ponto e vírgula não precisa de aspas
+                                + "5,2026-03-05,Gás; água,50.00,DESPESA,7,Mercado\n", csv);
+        }
+
+        @Test
+        void csvSemTransacoesDeveTerSoOCabecalho() throws Exception {
+                assertEquals(CABECALHO_CSV + "\n", exportar(FormatoExportacao.CSV, List.of()));
+        }
+
+        @Test
+        void ndjsonSemTransacoesDeveSerVazio() throws Exception {
+                assertEquals("", exportar(FormatoExportacao.NDJSON, List.of()));
+        }
+
+        @Test
+        void ndjsonDeveEscreverUmObjetoPorLinha() throws Exception {
+                String ndjson = exportar(FormatoExportacao.NDJSON, List.of(
+                                transacao(1L, "Parcela\n\"2/3\"; loja", "30.00", TipoTransacao.DESPESA, mercado),
+                                transacao(2L, "Salário", "3000.00", TipoTransacao.RECEITA, mercado)));
+
+                assertTrue(ndjson.endsWith("\n"));
+                String[] linhas = ndjson.split("\n");
+                assertEquals(2, linhas.length);
+
+                JsonNode primeira = objectMapper.readTree(linhas[0]);
+                assertEquals(1L, primeira.get("id").asLong());
+                assertEquals("Parcela\n\"2/3\"; loja", primeira.get("descricao").asString());
+                assertEquals(0, new BigDecimal("30.00").compareTo(primeira.get("valor").decimalValue()));
+                assertEquals("DESPESA", primeira.get("tipo").asString());
+                assertEquals(7L, primeira.get("categoriaId").asLong());
+                assertEquals("Mercado", primeira.get("categoriaNome").asString());
+                assertFalse(primeira.has("user"));
+
+                assertEquals("Salário", objectMapper.readTree(linhas[1]).get("descricao").asString());
+        }
+
+        @Test
+        void historicoMaiorQueOBufferDeEscritaDeveSairCompletoEDesanexado() throws Exception {
+                // 1201 linhas (~55 KB) passam várias vezes pelo buffer de 8 KB do writer
+                List<Transacao> transacoes = new ArrayList<>();
+                for (long id = 1; id <= 1201; id++) {
+                        transacoes.add(transacao(id, "Transação " + id, "1.00", TipoTransacao.DESPESA, mercado));
+                }
+
+                String csv = exportar(FormatoExportacao.CSV, transacoes);
+
+                String[] linhas = csv.split("\n");
+                assertEquals(1202, linhas.length);
+                assertEquals(CABECALHO_CSV, linhas[0]);
+                assertEquals("1,2026-03-05,Transação 1,1.00,DESPESA,7,Mercado", linhas[1]);
+                assertEquals("1201,2026-03-05,Transação 1201,1.00,DESPESA,7,Mercado", linhas[1201]);
+                verify(entityManager, times(1201)).detach(any(Transacao.class));
+        }
+
+        @Test
+        void cursorDeveSerFechadoAoFinal() throws Exception {
+                boolean[] fechado = { false };
+                when(transacaoRepository.streamByUser(usuario)).thenReturn(
+                                Stream.of(transacao(1L, "Feira", "45.90", TipoTransacao.DESPESA, mercado))
+                                                .onClose(() -> fechado[0] = true));
+
+                exportacaoService.exportar(usuario, FormatoExportacao.NDJSON, new ByteArrayOutputStream());
+
+                assertTrue(fechado[0]);
+        }
+}
@@ -0,0 +1,72 @@
+package com.example.financas.service;
+
+import com.example.financas.dto.FormatoExtrato;
+import com.example.financas.dto.ResultadoImportacaoDTO;
+import com.example.financas.model.Categoria;
+import com.example.financas.model.User;
+import com.example.financas.repository.CategoriaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ImportacaoServiceTest {
+
+        private CategoriaRepository categoriaRepository;
+        private ImportacaoService importacaoService;
+        private User usuario;
+
+        @BeforeEach
+        void setUp() {
+                categoriaRepository = mock(CategoriaRepository.class);
+                importacaoService = new ImportacaoService(categoriaRepository, mock(EntityManager.class),
+                                mock(TransactionTemplate.class), mock(SaldoService.class),
+                                mock(ResumoMensalService.class), mock(CacheManager.class), mock(BuscaService.class),
+                                mock(VersaoService.class));
+                ReflectionTestUtils.setField(importacaoService, "tamanhoLote", 500);
+
+                usuario = new User("proprietario", "senha");
+                usuario.setId(UUID.randomUUID());
+                when(categoriaRepository.findByUser(usuario)).thenReturn(List.of(new Categoria(7L, "Mercado", usuario)));
+        }
+
+        private ResultadoImportacaoDTO importar(String csv, Long categoriaPadrao) throws IOException {
+                return importacaoService.importar(usuario, FormatoExtrato.CSV, categoriaPadrao,
+                                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Test
+        void linhasInvalidasDevemSerContadasComoRecusadas() throws IOException {
+                ResultadoImportacaoDTO resultado = importar("data,valor,categoria_id\n"
+                                + "2026-03-10,-10.00,\n"
+                                + "2026-03-10,abc,\n"
+                                + "2026-03-11,-20.00,99\n"
+                                + "2026-03-12,-30.00,7\n", 7L);
+
+                assertEquals(4, resultado.linhasLidas());
+                assertEquals(2, resultado.importadas());
+                assertEquals(2, resultado.totalErros());
+                assertEquals(1, resultado.lotes());
+                assertEquals(List.of(3L, 4L), resultado.erros().stream().map(erro -> erro.linha()).toList());
+        }
+
+        @Test
+        void semCategoriaPadraoLinhaSemCategoriaDeveSerRecusada() throws IOException {
+                ResultadoImportacaoDTO resultado = importar("data,valor\n2026-03-10,-10.00\n", null);
+
+                assertEquals(0, resultado.importadas());
+                assertEquals(1, resultado.totalErros());
+                assertEquals(0, resultado.lotes());
+        }
+}
@@ -0,0 +1,65 @@
+package com.example.financas.service;
+
+import com.example.financas.dto.ResultadoBuscaDTO;
+import com.example.financas.dto.TransacaoResumoDTO;
+import com.example.financas.model.TipoTransacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceInvertidoTest {
+        private IndiceInvertido indice;
+
+        @BeforeEach
+        void setUp() {
+                indice = new IndiceInvertido();
+                indice.indexar(transacao(1L, "Supermercado Pão de Açúcar", LocalDate.of(2024, 1, 10)));
+                indice.indexar(transacao(2L, "Mercado da esquina", LocalDate.of(2024, 2, 5)));
+                indice.indexar(transacao(3L, "Mercados Unidos", LocalDate.of(2024, 3, 1)));
+                indice.indexar(transacao(4L, "Aluguel", LocalDate.of(2024, 3, 5)));
+        }
+
+        @Test
+        void buscaIgnoraAcentosEMaiusculas() {
+                List<ResultadoBuscaDTO> resultado = indice.buscar(Tokenizador.termos("ACUCAR"), 10);
+
+                assertEquals(1, resultado.size());
+                assertEquals(1L, resultado.get(0).transacao().id());
+        }
+
+        @Test
+        void casamentoExatoVemAntesDoPrefixo() {
+                List<ResultadoBuscaDTO> resultado = indice.buscar(Tokenizador.termos("mercado"), 10);
+
+                assertEquals(List.of(2L, 3L), resultado.stream().map(r -> r.transacao().id()).toList());
+                assertTrue(resultado.get(0).relevancia() > resultado.get(1).relevancia());
+        }
+
+        @Test
+        void todosOsTermosPrecisamCasar() {
+                assertEquals(1, indice.buscar(Tokenizador.termos("merc esq"), 10).size());
+                assertTrue(indice.buscar(Tokenizador.termos("mercado aluguel"), 10).isEmpty());
+        }
+
+        @Test
+        void reindexarERemoverAtualizamOsTermos() {
+                indice.indexar(transacao(4L, "Aluguel do mercado", LocalDate.of(2024, 3, 5)));
+                indice.remover(2L);
+
+                List<ResultadoBuscaDTO> resultado = indice.buscar(Tokenizador.termos("mercado"), 1);
+
+                assertEquals(1, resultado.size());
+                assertEquals(4L, resultado.get(0).transacao().id());
+                assertEquals(3, indice.tamanho());
+        }
+
+        private static TransacaoResumoDTO transacao(Long id, String descricao, LocalDate data) {
+                return new TransacaoResumoDTO(id, new BigDecimal("10.00"), data, descricao, TipoTransacao.DESPESA, 1L,
+                                "Geral");
+        }
+}
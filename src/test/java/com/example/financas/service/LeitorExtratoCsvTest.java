@@ -0,0 +1,97 @@
+package com.example.financas.service;
+
+import com.example.financas.model.TipoTransacao;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeitorExtratoCsvTest {
+
+        private static LeitorExtratoCsv leitor(String conteudo) throws IOException {
+                return new LeitorExtratoCsv(new BufferedReader(new StringReader(conteudo)));
+        }
+
+        @Test
+        void deveLerCamposEntreAspasComVirgulaEAspasEscapadas() throws IOException {
+                LeitorExtratoCsv leitor = leitor("data,valor,descricao,tipo,categoria_id\n"
+                                + "2026-03-10,\"1.234,56\",\"Aluguel, \"\"março\"\"\",DESPESA,7\n");
+
+                LinhaExtrato linha = leitor.proxima();
+
+                assertEquals(LocalDate.of(2026, 3, 10), linha.data());
+                assertEquals(new BigDecimal("1234.56"), linha.valor());
+                assertEquals("Aluguel, \"março\"", linha.descricao());
+                assertEquals(TipoTransacao.DESPESA, linha.tipo());
+                assertEquals(7L, linha.categoriaId());
+                assertNull(leitor.proxima());
+        }
+
+        @Test
+        void campoEntreAspasPodeOcuparVariasLinhas() throws IOException {
+                LeitorExtratoCsv leitor = leitor("data,valor,descricao\n"
+                                + "2026-03-10,50.00,\"Mercado\nsegunda linha\"\n"
+                                + "2026-03-11,20.00,Padaria\n");
+
+                assertEquals("Mercado\nsegunda linha", leitor.proxima().descricao());
+                assertEquals(3, leitor.getNumeroLinha());
+                assertEquals("Padaria", leitor.proxima().descricao());
+                assertEquals(4, leitor.getNumeroLinha());
+        }
+
+        @Test
+        void semColunaTipoOSinalDefineOTipo() throws IOException {
+                LeitorExtratoCsv leitor = leitor("data,valor\n2026-03-10,-35.90\n2026-03-11,3000\n");
+
+                LinhaExtrato despesa = leitor.proxima();
+                LinhaExtrato receita = leitor.proxima();
+
+                assertEquals(TipoTransacao.DESPESA, despesa.tipo());
+                assertEquals(new BigDecimal("35.90"), despesa.valor());
+                assertEquals(TipoTransacao.RECEITA, receita.tipo());
+        }
+
+        @Test
+        void deveIgnorarOBomDoExcelNoCabecalho() throws IOException {
+                LeitorExtratoCsv leitor = leitor("\uFEFFdata,valor\n2026-03-10,10.00\n");
+
+                assertEquals(LocalDate.of(2026, 3, 10), leitor.proxima().data());
+        }
+
+        @Test
+        void linhaInvalidaNaoInterrompeALeitura() throws IOException {
+                LeitorExtratoCsv leitor = leitor("data,valor,tipo\n"
+                                + "10/03/2026,10.00,\n"
+                                + "2026-03-10,abc,\n"
+                                + "2026-03-10,10.00,TRANSFERENCIA\n"
+                                + "2026-03-11,,\n"
+                                + "2026-03-12,5.00,RECEITA\n");
+
+                for (int i = 0; i < 4; i++) {
+                        assertThrows(IllegalArgumentException.class, leitor::proxima);
+                }
+                assertEquals(LocalDate.of(2026, 3, 12), leitor.proxima().data());
+                assertNull(leitor.proxima());
+        }
+
+        @Test
+        void cabecalhoSemColunasObrigatoriasDeveSerRecusado() {
+                assertThrows(IllegalArgumentException.class, () -> leitor("data,descricao\n2026-03-10,x\n"));
+                assertThrows(IllegalArgumentException.class, () -> leitor(""));
+        }
+
+        @Test
+        void valorDeveAceitarSeparadoresDeMilhar() {
+                assertEquals(new BigDecimal("1234.56"), LinhaExtrato.valor("1.234,56"));
+                assertEquals(new BigDecimal("1234.56"), LinhaExtrato.valor("1,234.56"));
+                assertEquals(new BigDecimal("-1234567.89"), LinhaExtrato.valor("-1.234.567,89"));
+                assertEquals(new BigDecimal("1234567"), LinhaExtrato.valor("1.234.567"));
+                assertEquals(new BigDecimal("12.5"), LinhaExtrato.valor("12,5"));
+                assertEquals(new BigDecimal("12.5"), LinhaExtrato.valor("12.5"));
+        }
+}
@@ -0,0 +1,62 @@
+package com.example.financas.service;
+
+import com.example.financas.model.TipoTransacao;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeitorExtratoOfxTest {
+
+        private static LeitorExtratoOfx leitor(String conteudo) {
+                return new LeitorExtratoOfx(new BufferedReader(new StringReader(conteudo)));
+        }
+
+        @Test
+        void deveLerBlocosSgmlSemTagsDeFechamento() throws IOException {
+                LeitorExtratoOfx leitor = leitor("OFXHEADER:100\n<OFX><BANKTRANLIST>\n"
+                                + "<STMTTRN>\n<TRNTYPE>DEBIT\n<DTPOSTED>20260310120000[-3:BRT]\n<TRNAMT>-42,50\n"
+                                + "<MEMO>Farmácia\n</STMTTRN>\n"
+                                + "<STMTTRN><DTPOSTED>20260311<TRNAMT>1500.00<NAME>Salário</STMTTRN>\n"
+                                + "</BANKTRANLIST></OFX>\n");
+
+                LinhaExtrato despesa = leitor.proxima();
+                assertEquals(LocalDate.of(2026, 3, 10), despesa.data());
+                assertEquals(new BigDecimal("42.50"), despesa.valor());
+                assertEquals(TipoTransacao.DESPESA, despesa.tipo());
+                assertEquals("Farmácia", despesa.descricao());
+                assertNull(despesa.categoriaId());
+
+                LinhaExtrato receita = leitor.proxima();
+                assertEquals(TipoTransacao.RECEITA, receita.tipo());
+                assertEquals("Salário", receita.descricao());
+
+                assertNull(leitor.proxima());
+        }
+
+        @Test
+        void blocoSemDtpostedOuTrnamtDeveSerRecusadoSemInterromperALeitura() throws IOException {
+                LeitorExtratoOfx leitor = leitor("<OFX>\n"
+                                + "<STMTTRN><TRNAMT>-10.00<MEMO>Sem data</STMTTRN>\n"
+                                + "<STMTTRN><DTPOSTED>20260310<MEMO>Sem valor</STMTTRN>\n"
+                                + "<STMTTRN><DTPOSTED>2026<TRNAMT>-1.00</STMTTRN>\n"
+                                + "<STMTTRN><DTPOSTED>20260312<TRNAMT>-5.00<MEMO>Válido</STMTTRN>\n"
+                                + "</OFX>\n");
+
+                for (int i = 0; i < 3; i++) {
+                        assertThrows(IllegalArgumentException.class, leitor::proxima);
+                }
+                assertEquals("Válido", leitor.proxima().descricao());
+                assertNull(leitor.proxima());
+        }
+
+        @Test
+        void arquivoSemLancamentosNaoTemLinhas() throws IOException {
+                assertNull(leitor("<OFX><BANKTRANLIST></BANKTRANLIST></OFX>").proxima());
+        }
+}
@@ -0,0 +1,76 @@
+package com.example.financas.service;
+
+import com.example.financas.dto.TokenResponse;
+import com.example.financas.model.User;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LoginServiceTest {
+        private static final String CHAVE = "ASd87632k287H8sdg817gSjdh871h1H871Jjd87qws238Yf7T4d5h8B";
+
+        private TokenService tokenService;
+        private UserDetailsServiceImpl userDetailsService;
+        private AuthenticationManager authenticationManager;
+
+        private User usuario;
+
+        @BeforeEach
+        void setUp() {
+                tokenService = new TokenService(CHAVE, 100, new SimpleMeterRegistry());
+                ReflectionTestUtils.setField(tokenService, "expirationTimeMillis", 60_000L);
+                ReflectionTestUtils.setField(tokenService, "refreshExpirationTimeMillis", 600_000L);
+
+                userDetailsService = mock(UserDetailsServiceImpl.class);
+                authenticationManager = mock(AuthenticationManager.class);
+
+                usuario = new User("proprietario", "senha");
+                usuario.setId(UUID.randomUUID());
+        }
+
+        private LoginService loginService(Executor executor) {
+                return new LoginService(authenticationManager, tokenService, userDetailsService, executor);
+        }
+
+        @Test
+        void renovarDeveEmitirNovoParSemAutenticarASenha() {
+                when(userDetailsService.loadUserByUsername("proprietario")).thenReturn(usuario);
+                String refreshToken = tokenService.generateRefreshToken(usuario);
+
+                TokenResponse resposta = loginService(Runnable::run).renovar(refreshToken);
+
+                Claims acesso = tokenService.lerClaims(resposta.token());
+                assertFalse(TokenService.isRefreshToken(acesso));
+                assertTrue(TokenService.isRefreshToken(tokenService.lerClaims(resposta.refreshToken())));
+                verifyNoInteractions(authenticationManager);
+        }
+
+        @Test
+        void renovarDeveRecusarTokenDeAcesso() {
+                String tokenDeAcesso = tokenService.generateToken(usuario);
+
+                assertThrows(BadCredentialsException.class, () -> loginService(Runnable::run).renovar(tokenDeAcesso));
+        }
+
+        @Test
+        void loginDeveFalharNaHoraComPoolSaturado() {
+                Executor saturado = tarefa -> {
+                        throw new RejectedExecutionException("pool cheio");
+                };
+
+                assertThrows(RejectedExecutionException.class,
+                                () -> loginService(saturado).login("proprietario", "senha"));
+                verifyNoInteractions(authenticationManager);
+        }
+}
@@ -0,0 +1,218 @@
+package com.example.financas.service;
+
+import com.example.financas.dto.ResumoMensalDTO;
+import com.example.financas.model.Categoria;
+import com.example.financas.model.ResumoMensal;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.Transacao;
+import com.example.financas.model.User;
+import com.example.financas.repository.ResumoMensalRepository;
+import com.example.financas.repository.TransacaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResumoMensalServiceTest {
+        @Mock
+        private ResumoMensalRepository resumoMensalRepository;
+
+        @Mock
+        private TransacaoRepository transacaoRepository;
+
+        @Mock
+        private VersaoService versaoService;
+
+        @InjectMocks
+        private ResumoMensalService resumoMensalService;
+
+        private User usuario;
+        private Categoria mercado;
+        private Categoria moradia;
+
+        private static final LocalDate MARCO = LocalDate.of(2026, 3, 1);
+        private static final LocalDate ABRIL = LocalDate.of(2026, 4, 1);
+
+        @BeforeEach
+        void setUp() {
+                usuario = new User();
+                usuario.setId(UUID.randomUUID());
+                mercado = new Categoria(7L, "Mercado", usuario);
+                moradia = new Categoria(8L, "Moradia", usuario);
+        }
+
+        private Transacao transacao(String valor, LocalDate data, TipoTransacao tipo, Categoria categoria) {
+                return new Transacao("Teste", new BigDecimal(valor), data, tipo, usuario, categoria);
+        }
+
+        // Linha do resumo como lista de valores, para comparar sem depender de equals na entidade
+        private static List<Object> valores(ResumoMensal linha) {
+                return List.of(linha.getUserId(), linha.getMes(), linha.getCategoriaId(), linha.getTipo(),
+                                linha.getTotal().stripTrailingZeros(), linha.getQuantidade());
+        }
+
+        @Test
+        void alteracaoNaMesmaChaveDeveAplicarSoADiferenca() {
+                when(resumoMensalRepository.somar(any(), any(), any(), any(), any(), anyLong())).thenReturn(1);
+
+                resumoMensalService.registrarAlteracao(
+                                transacao("100.00", MARCO.plusDays(4), TipoTransacao.DESPESA, mercado),
+                                transacao("130.00", MARCO.plusDays(20), TipoTransacao.DESPESA, mercado));
+
+                verify(resumoMensalRepository).somar(usuario.getId(), MARCO, 7L, TipoTransacao.DESPESA,
+                                new BigDecimal("30.00"), 0);
+                verifyNoMoreInteractions(resumoMensalRepository);
+        }
+
+        @Test
+        void alteracaoSemMudarValorNaMesmaChaveNaoDeveEscrever() {
+                resumoMensalService.registrarAlteracao(
+                                transacao("100.00", MARCO, TipoTransacao.DESPESA, mercado),
+                                transacao("100.00", MARCO.plusDays(1), TipoTransacao.DESPESA, mercado));
+
+                verifyNoInteractions(resumoMensalRepository);
+        }
+
+        @Test
+        void alteracaoDeMesDeveMoverATransacaoEntreAsLinhas() {
+                when(resumoMensalRepository.somar(any(), any(), any(), any(), any(), anyLong())).thenReturn(1);
+
+                resumoMensalService.registrarAlteracao(
+                                transacao("100.00", MARCO.plusDays(30), TipoTransacao.DESPESA, mercado),
+                                transacao("100.00", ABRIL, TipoTransacao.DESPESA, mercado));
+
+                verify(resumoMensalRepository).somar(usuario.getId(), MARCO, 7L, TipoTransacao.DESPESA,
+                                new BigDecimal("-100.00"), -1);
+                verify(resumoMensalRepository).somar(usuario.getId(), ABRIL, 7L, TipoTransacao.DESPESA,
+                                new BigDecimal("100.00"), 1);
+        }
+
+        @Test
+        void alteracaoDeCategoriaDeveMoverATransacaoEntreAsLinhas() {
+                when(resumoMensalRepository.somar(any(), any(), any(), any(), any(), anyLong())).thenReturn(1);
+
+                resumoMensalService.registrarAlteracao(
+                                transacao("100.00", MARCO, TipoTransacao.DESPESA, mercado),
+                                transacao("80.00", MARCO, TipoTransacao.DESPESA, moradia));
+
+                verify(resumoMensalRepository).somar(usuario.getId(), MARCO, 7L, TipoTransacao.DESPESA,
+                                new BigDecimal("-100.00"), -1);
+                verify(resumoMensalRepository).somar(usuario.getId(), MARCO, 8L, TipoTransacao.DESPESA,
+                                new BigDecimal("80.00"), 1);
+        }
+
+        @Test
+        void alteracaoDeTipoCriaALinhaNovaQuandoAindaNaoExiste() {
+                when(resumoMensalRepository.somar(usuario.getId(), MARCO, 7L, TipoTransacao.DESPESA,
+                                new BigDecimal("-100.00"), -1)).thenReturn(1);
+                when(resumoMensalRepository.somar(usuario.getId(), MARCO, 7L, TipoTransacao.RECEITA,
+                                new BigDecimal("100.00"), 1)).thenReturn(0);
+
+                resumoMensalService.registrarAlteracao(
+                                transacao("100.00", MARCO, TipoTransacao.DESPESA, mercado),
+                                transacao("100.00", MARCO, TipoTransacao.RECEITA, mercado));
+
+                ArgumentCaptor<ResumoMensal> nova = ArgumentCaptor.forClass(ResumoMensal.class);
+                verify(resumoMensalRepository).save(nova.capture());
+                assertEquals(List.of(usuario.getId(), MARCO, 7L, TipoTransacao.RECEITA, new BigDecimal("100"), 1L),
+                                valores(nova.getValue()));
+        }
+
+        @Test
+        void inclusoesEmLoteDevemSerAgregadasPorChave() {
+                when(resumoMensalRepository.somar(any(), any(), any(), any(), any(), anyLong())).thenReturn(1);
+
+                resumoMensalService.registrarInclusoes(List.of(
+                                transacao("10.00", MARCO, TipoTransacao.DESPESA, mercado),
+                                transacao("15.50", MARCO.plusDays(9), TipoTransacao.DESPESA, mercado),
+                                transacao("20.00", MARCO.plusDays(2), TipoTransacao.DESPESA, moradia),
+                                transacao("3000.00", ABRIL, TipoTransacao.RECEITA, mercado),
+                                transacao("5.00", ABRIL.plusDays(1), TipoTransacao.RECEITA, mercado)));
+
+                verify(resumoMensalRepository).somar(usuario.getId(), MARCO, 7L, TipoTransacao.DESPESA,
+                                new BigDecimal("25.50"), 2);
+                verify(resumoMensalRepository).somar(usuario.getId(), MARCO, 8L, TipoTransacao.DESPESA,
+                                new BigDecimal("20.00"), 1);
+                verify(resumoMensalRepository).somar(usuario.getId(), ABRIL, 7L, TipoTransacao.RECEITA,
+                                new BigDecimal("3005.00"), 2);
+                verifyNoMoreInteractions(resumoMensalRepository);
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void reconstruirDeveChegarAoMesmoResultadoDasInclusoes() {
+                List<Transacao> transacoes = List.of(
+                                transacao("10.00", MARCO, TipoTransacao.DESPESA, mercado),
+                                transacao("15.50", MARCO.plusDays(9), TipoTransacao.DESPESA, mercado),
+                                transacao("20.00", MARCO.plusDays(2), TipoTransacao.DESPESA, moradia),
+                                transacao("3000.00", ABRIL, TipoTransacao.RECEITA, mercado));
+
+                // Caminho incremental, partindo de um resumo vazio: cada chave vira uma linha nova
+                when(resumoMensalRepository.somar(any(), any(), any(), any(), any(), anyLong())).thenReturn(0);
+                resumoMensalService.registrarInclusoes(transacoes);
+                ArgumentCaptor<ResumoMensal> incrementais = ArgumentCaptor.forClass(ResumoMensal.class);
+                verify(resumoMensalRepository, times(3)).save(incrementais.capture());
+
+                // Reconstrução: o que a agregação do banco devolveria para as mesmas transações
+                when(transacaoRepository.agruparPorMesCategoriaETipo(usuario)).thenReturn(List.of(
+                                new Object[] { 2026, 3, 7L, TipoTransacao.DESPESA, new BigDecimal("25.50"), 2L },
+                                new Object[] { 2026, 3, 8L, TipoTransacao.DESPESA, new BigDecimal("20.00"), 1L },
+                                new Object[] { 2026, 4, 7L, TipoTransacao.RECEITA, new BigDecimal("3000.00"), 1L }));
+
+                assertEquals(3, resumoMensalService.reconstruir(usuario));
+
+                // A linha de versão é bloqueada antes de apagar o resumo
+                InOrder ordem = inOrder(versaoService, resumoMensalRepository);
+                ordem.verify(versaoService).incrementar(usuario);
+                ordem.verify(resumoMensalRepository).deleteByUserId(usuario.getId());
+                ArgumentCaptor<List<ResumoMensal>> reconstruidas = ArgumentCaptor.forClass(List.class);
+                ordem.verify(resumoMensalRepository).saveAll(reconstruidas.capture());
+
+                Comparator<List<Object>> porChave = Comparator.comparing(linha -> linha.subList(1, 4).toString());
+                List<List<Object>> esperadas = new ArrayList<>(incrementais.getAllValues().stream()
+                                .map(ResumoMensalServiceTest::valores).toList());
+                List<List<Object>> obtidas = new ArrayList<>(reconstruidas.getValue().stream()
+                                .map(ResumoMensalServiceTest::valores).toList());
+                esperadas.sort(porChave);
+                obtidas.sort(porChave);
+                assertEquals(esperadas, obtidas);
+        }
+
+        @Test
+        void relatorioDeveConsultarOIntervaloDeMesesDoUsuario() {
+                List<ResumoMensalDTO> linhas = List.of(new ResumoMensalDTO(MARCO, 7L, "Mercado",
+                                TipoTransacao.DESPESA, new BigDecimal("25.50"), 2));
+                when(resumoMensalRepository.findRelatorio(usuario.getId(), MARCO, ABRIL)).thenReturn(linhas);
+
+                assertSame(linhas, resumoMensalService.relatorio(usuario, YearMonth.of(2026, 3),
+                                YearMonth.of(2026, 4)));
+        }
+
+        @Test
+        void relatorioDeveRecusarIntervaloInvertidoOuAcimaDoLimite() {
+                assertThrows(IllegalArgumentException.class, () -> resumoMensalService.relatorio(usuario,
+                                YearMonth.of(2026, 4), YearMonth.of(2026, 3)));
+                assertThrows(IllegalArgumentException.class, () -> resumoMensalService.relatorio(usuario,
+                                YearMonth.of(2020, 1), YearMonth.of(2025, 1)));
+                assertDoesNotThrow(() -> resumoMensalService.relatorio(usuario,
+                                YearMonth.of(2020, 1), YearMonth.of(2024, 12)));
+                verify(resumoMensalRepository, times(1)).findRelatorio(any(), any(), any());
+        }
+}
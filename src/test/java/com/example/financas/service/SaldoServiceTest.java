@@ -0,0 +1,176 @@
+package com.example.financas.service;
+
+import com.example.financas.dto.IntervaloSerie;
+import com.example.financas.dto.MovimentoDiarioDTO;
+import com.example.financas.dto.PontoSaldoDTO;
+import com.example.financas.dto.SaldoDTO;
+import com.example.financas.model.SaldoUsuario;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.User;
+import com.example.financas.repository.SaldoUsuarioRepository;
+import com.example.financas.repository.TransacaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SaldoServiceTest {
+        @Mock
+        private SaldoUsuarioRepository saldoUsuarioRepository;
+
+        @Mock
+        private TransacaoRepository transacaoRepository;
+
+        @Mock
+        private VersaoService versaoService;
+
+        @InjectMocks
+        private SaldoService saldoService;
+
+        private User usuarioProprietario;
+
+        @BeforeEach
+        void setUp() {
+                usuarioProprietario = new User();
+                usuarioProprietario.setId(UUID.randomUUID());
+                usuarioProprietario.setUsername("proprietario");
+        }
+
+        @Test
+        void consultarDeveLerALinhaMaterializadaSemSomarTransacoes() {
+                when(saldoUsuarioRepository.findById(usuarioProprietario.getId()))
+                                .thenReturn(Optional.of(new SaldoUsuario(usuarioProprietario.getId(),
+                                                new BigDecimal("300.00"), new BigDecimal("120.00"))));
+
+                SaldoDTO resultado = saldoService.consultar(usuarioProprietario);
+
+                assertEquals(0, new BigDecimal("180.00").compareTo(resultado.getSaldoTotal()));
+                verify(transacaoRepository, never()).calcularSaldo(any());
+        }
+
+        @Test
+        void registrarAlteracaoAplicaApenasADiferenca() {
+                when(saldoUsuarioRepository.somar(any(), any(), any())).thenReturn(1);
+
+                saldoService.registrarAlteracao(usuarioProprietario, TipoTransacao.DESPESA, new BigDecimal("100.00"),
+                                TipoTransacao.RECEITA, new BigDecimal("40.00"));
+
+                verify(saldoUsuarioRepository).somar(usuarioProprietario.getId(), new BigDecimal("40.00"),
+                                new BigDecimal("-100.00"));
+        }
+
+        @Test
+        void aplicarReconstroiQuandoNaoHaLinhaMaterializada() {
+                when(saldoUsuarioRepository.somar(any(), any(), any())).thenReturn(0);
+                when(transacaoRepository.calcularSaldo(usuarioProprietario))
+                                .thenReturn(new SaldoDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+
+                saldoService.aplicar(usuarioProprietario, new BigDecimal("10.00"), BigDecimal.ZERO);
+
+                verify(saldoUsuarioRepository).save(any(SaldoUsuario.class));
+        }
+
+        @Test
+        void consultarSemLinhaMaterializadaRetornaZeroSemGravar() {
+                when(saldoUsuarioRepository.findById(usuarioProprietario.getId())).thenReturn(Optional.empty());
+
+                SaldoDTO resultado = saldoService.consultar(usuarioProprietario);
+
+                assertEquals(0, BigDecimal.ZERO.compareTo(resultado.getSaldoTotal()));
+                verify(transacaoRepository, never()).calcularSaldo(any());
+                verify(saldoUsuarioRepository, never()).save(any());
+        }
+
+        @Test
+        void serieMensalDeveSomarOsDiasDeCadaMesPartindoDoSaldoAnterior() {
+                LocalDate inicio = LocalDate.of(2026, 1, 1);
+                LocalDate fim = LocalDate.of(2026, 3, 31);
+                when(transacaoRepository.calcularSaldoAntesDe(usuarioProprietario, inicio))
+                                .thenReturn(new BigDecimal("1000.00"));
+                when(transacaoRepository.streamMovimentoDiario(usuarioProprietario, inicio, fim))
+                                .thenReturn(Stream.of(
+                                                new MovimentoDiarioDTO(LocalDate.of(2026, 1, 5), new BigDecimal("-100.00")),
+                                                new MovimentoDiarioDTO(LocalDate.of(2026, 1, 20), new BigDecimal("50.00")),
+                                                new MovimentoDiarioDTO(LocalDate.of(2026, 3, 10), new BigDecimal("200.00"))));
+
+                List<PontoSaldoDTO> serie = saldoService.serie(usuarioProprietario, inicio, fim, IntervaloSerie.MENSAL);
+
+                // Fevereiro não tem movimento e repete o saldo de janeiro
+                assertEquals(List.of(
+                                new PontoSaldoDTO(LocalDate.of(2026, 1, 31), new BigDecimal("950.00")),
+                                new PontoSaldoDTO(LocalDate.of(2026, 2, 28), new BigDecimal("950.00")),
+                                new PontoSaldoDTO(LocalDate.of(2026, 3, 31), new BigDecimal("1150.00"))), serie);
+        }
+
+        @Test
+        void serieMensalSemMovimentoDeveTrazerTodosOsMesesComOSaldoAnterior() {
+                LocalDate inicio = LocalDate.of(2026, 1, 15);
+                LocalDate fim = LocalDate.of(2026, 2, 10);
+                when(transacaoRepository.calcularSaldoAntesDe(usuarioProprietario, inicio))
+                                .thenReturn(new BigDecimal("80.00"));
+                when(transacaoRepository.streamMovimentoDiario(usuarioProprietario, inicio, fim))
+                                .thenReturn(Stream.empty());
+
+                List<PontoSaldoDTO> serie = saldoService.serie(usuarioProprietario, inicio, fim, IntervaloSerie.MENSAL);
+
+                // O último ponto para na data final, não no fim do mês
+                assertEquals(List.of(
+                                new PontoSaldoDTO(LocalDate.of(2026, 1, 31), new BigDecimal("80.00")),
+                                new PontoSaldoDTO(LocalDate.of(2026, 2, 10), new BigDecimal("80.00"))), serie);
+        }
+
+        @Test
+        void serieDiariaDeveTrazerSoOsDiasComMovimento() {
+                LocalDate inicio = LocalDate.of(2026, 1, 1);
+                LocalDate fim = LocalDate.of(2026, 1, 31);
+                when(transacaoRepository.calcularSaldoAntesDe(usuarioProprietario, inicio))
+                                .thenReturn(new BigDecimal("10.00"));
+                when(transacaoRepository.streamMovimentoDiario(usuarioProprietario, inicio, fim))
+                                .thenReturn(Stream.of(
+                                                new MovimentoDiarioDTO(LocalDate.of(2026, 1, 3), new BigDecimal("5.00")),
+                                                new MovimentoDiarioDTO(LocalDate.of(2026, 1, 9), new BigDecimal("-20.00"))));
+
+                List<PontoSaldoDTO> serie = saldoService.serie(usuarioProprietario, inicio, fim, IntervaloSerie.DIARIO);
+
+                assertEquals(List.of(
+                                new PontoSaldoDTO(LocalDate.of(2026, 1, 3), new BigDecimal("15.00")),
+                                new PontoSaldoDTO(LocalDate.of(2026, 1, 9), new BigDecimal("-5.00"))), serie);
+        }
+
+        @Test
+        void serieDeveRecusarIntervaloAcimaDoLimite() {
+                LocalDate inicio = LocalDate.of(2020, 1, 1);
+
+                assertThrows(IllegalArgumentException.class, () -> saldoService.serie(usuarioProprietario,
+                                LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31), IntervaloSerie.MENSAL));
+                assertThrows(IllegalArgumentException.class, () -> saldoService.serie(usuarioProprietario,
+                                inicio, LocalDate.of(2025, 1, 1), IntervaloSerie.MENSAL));
+                verifyNoInteractions(transacaoRepository);
+        }
+
+        @Test
+        void serieDeveAceitarExatamenteOLimiteDeMeses() {
+                LocalDate inicio = LocalDate.of(2020, 1, 1);
+                LocalDate fim = LocalDate.of(2024, 12, 31);
+                when(transacaoRepository.calcularSaldoAntesDe(usuarioProprietario, inicio)).thenReturn(BigDecimal.ZERO);
+                when(transacaoRepository.streamMovimentoDiario(usuarioProprietario, inicio, fim))
+                                .thenReturn(Stream.empty());
+
+                assertEquals(SaldoService.MAXIMO_MESES_SERIE,
+                                saldoService.serie(usuarioProprietario, inicio, fim, IntervaloSerie.MENSAL).size());
+        }
+}
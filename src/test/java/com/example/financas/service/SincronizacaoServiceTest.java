@@ -0,0 +1,106 @@
+package com.example.financas.service;
+
+import com.example.financas.dto.CategoriaSyncDTO;
+import com.example.financas.dto.ExclusaoSyncDTO;
+import com.example.financas.dto.SincronizacaoDTO;
+import com.example.financas.dto.TransacaoSyncDTO;
+import com.example.financas.model.TipoEntidade;
+import com.example.financas.model.TipoTransacao;
+import com.example.financas.model.User;
+import com.example.financas.repository.CategoriaRepository;
+import com.example.financas.repository.ExclusaoRepository;
+import com.example.financas.repository.TransacaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SincronizacaoServiceTest {
+        @Mock
+        private TransacaoRepository transacaoRepository;
+
+        @Mock
+        private CategoriaRepository categoriaRepository;
+
+        @Mock
+        private ExclusaoRepository exclusaoRepository;
+
+        @Mock
+        private VersaoService versaoService;
+
+        @InjectMocks
+        private SincronizacaoService sincronizacaoService;
+
+        private User usuario;
+
+        @BeforeEach
+        void setUp() {
+                usuario = new User();
+                usuario.setId(UUID.randomUUID());
+
+                ReflectionTestUtils.setField(sincronizacaoService, "limitePadrao", 2);
+                ReflectionTestUtils.setField(sincronizacaoService, "limiteMaximo", 10);
+        }
+
+        private TransacaoSyncDTO transacao(long id, long versao) {
+                return new TransacaoSyncDTO(id, new BigDecimal("10.00"), LocalDate.now(), "Mercado",
+                                TipoTransacao.DESPESA, 1L, versao);
+        }
+
+        @Test
+        void deveIntercalarPorVersaoECortarNoLimite() {
+                when(versaoService.consultar(usuario)).thenReturn(20L);
+                when(transacaoRepository.findAlteradasDesde(eq(usuario), eq(5L), eq(20L), any(Limit.class)))
+                                .thenReturn(List.of(transacao(100L, 8), transacao(101L, 9)));
+                when(categoriaRepository.findAlteradasDesde(eq(usuario), eq(5L), eq(20L), any(Limit.class)))
+                                .thenReturn(List.of(new CategoriaSyncDTO(1L, "Mercado", 6)));
+                when(exclusaoRepository.findDesde(eq(usuario.getId()), eq(5L), eq(20L), any(Limit.class)))
+                                .thenReturn(List.of(new ExclusaoSyncDTO(TipoEntidade.TRANSACAO, 99L, 7)));
+
+                SincronizacaoDTO resultado = sincronizacaoService.sincronizar(usuario, 5L, null);
+
+                assertEquals(1, resultado.categorias().size());
+                assertEquals(1, resultado.exclusoes().size());
+                assertTrue(resultado.transacoes().isEmpty());
+                assertEquals(7L, resultado.cursor());
+                assertTrue(resultado.temMais());
+        }
+
+        @Test
+        void semPendenciasOCursorAvancaAteAVersaoConfirmada() {
+                when(versaoService.consultar(usuario)).thenReturn(20L);
+                when(transacaoRepository.findAlteradasDesde(eq(usuario), eq(-1L), eq(20L), any(Limit.class)))
+                                .thenReturn(List.of(transacao(100L, 12)));
+                when(categoriaRepository.findAlteradasDesde(eq(usuario), eq(-1L), eq(20L), any(Limit.class)))
+                                .thenReturn(Collections.emptyList());
+                when(exclusaoRepository.findDesde(eq(usuario.getId()), eq(-1L), eq(20L), any(Limit.class)))
+                                .thenReturn(Collections.emptyList());
+
+                SincronizacaoDTO resultado = sincronizacaoService.sincronizar(usuario, null, null);
+
+                assertEquals(1, resultado.transacoes().size());
+                assertEquals(20L, resultado.cursor());
+                assertFalse(resultado.temMais());
+        }
+
+        @Test
+        void deveRecusarLimiteForaDaFaixa() {
+                assertThrows(IllegalArgumentException.class,
+                                () -> sincronizacaoService.sincronizar(usuario, null, 11));
+        }
+}
@@ -0,0 +1,81 @@
+package com.example.financas.service;
+
+import com.example.financas.config.Metricas;
+import com.example.financas.model.User;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+        private static final String CHAVE = "ASd87632k287H8sdg817gSjdh871h1H871Jjd87qws238Yf7T4d5h8B";
+
+        private TokenService tokenService;
+        private SimpleMeterRegistry meterRegistry;
+
+        private User usuario;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                tokenService = new TokenService(CHAVE, 100, meterRegistry);
+                ReflectionTestUtils.setField(tokenService, "expirationTimeMillis", 60_000L);
+
+                usuario = new User("proprietario", "senha");
+                usuario.setId(UUID.randomUUID());
+        }
+
+        @Test
+        void tokenDeveCarregarOIdDoUsuario() {
+                String token = tokenService.generateToken(usuario);
+
+                Claims claims = tokenService.lerClaims(token);
+
+                assertNotNull(claims);
+                assertEquals("proprietario", claims.getSubject());
+                assertEquals(usuario.getId().toString(), claims.get(TokenService.CLAIM_USER_ID, String.class));
+        }
+
+        @Test
+        void tokenAdulteradoDeveSerRejeitado() {
+                String token = tokenService.generateToken(usuario);
+
+                assertNull(tokenService.lerClaims(token + "x"));
+                assertNull(tokenService.validateToken(token + "x"));
+        }
+
+        @Test
+        void tokenRepetidoDeveReaproveitarAVerificacao() {
+                String token = tokenService.generateToken(usuario);
+
+                Claims primeira = tokenService.lerClaims(token);
+                Claims segunda = tokenService.lerClaims(token);
+
+                assertSame(primeira, segunda);
+        }
+
+        @Test
+        void validacaoDeveSerMedidaSeparandoAcertosDoCache() {
+                String token = tokenService.generateToken(usuario);
+
+                tokenService.lerClaims(token);
+                tokenService.lerClaims(token);
+                tokenService.lerClaims(token + "x");
+
+                assertEquals(1, meterRegistry.get(Metricas.JWT_VALIDACAO).tag(Metricas.TAG_CACHE, "hit").timer().count());
+                assertEquals(2, meterRegistry.get(Metricas.JWT_VALIDACAO).tag(Metricas.TAG_CACHE, "miss").timer().count());
+        }
+
+        @Test
+        void tokenVencidoNaoDeveSerAceito() {
+                ReflectionTestUtils.setField(tokenService, "expirationTimeMillis", -1_000L);
+                String token = tokenService.generateToken(usuario);
+
+                assertNull(tokenService.lerClaims(token));
+        }
+}
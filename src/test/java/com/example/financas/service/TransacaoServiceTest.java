@@ -1,8 +1,15 @@
 package com.example.financas.service;
 
+import com.example.financas.dto.CategoriaResumoDTO;
+import com.example.financas.dto.CursorTransacao;
+import com.example.financas.dto.PaginaTransacoesDTO;
+import com.example.financas.dto.ResultadoLoteDTO;
 import com.example.financas.dto.SaldoDTO;
+import com.example.financas.dto.TransacaoEstadoDTO;
+import com.example.financas.dto.TransacaoResumoDTO;
 import com.example.financas.exception.ResourceNotFoundException;
 import com.example.financas.model.Categoria;
+import com.example.financas.model.TipoEntidade;
 import com.example.financas.model.TipoTransacao;
 import com.example.financas.model.Transacao;
 import com.example.financas.model.User;
@@ -14,13 +21,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -36,6 +46,21 @@ class TransacaoServiceTest {
         @Mock
         private CategoriaRepository categoriaRepository;
 
+        @Mock
+        private CategoriaService categoriaService;
+
+        @Mock
+        private SaldoService saldoService;
+
+        @Mock
+        private ResumoMensalService resumoMensalService;
+
+        @Mock
+        private BuscaService buscaService;
+
+        @Mock
+        private VersaoService versaoService;
+
         @InjectMocks
         private TransacaoService transacaoService;
 
@@ -65,12 +90,31 @@ class TransacaoServiceTest {
                                 categoriaProprietario);
 
                 transacaoProprietario.setId(100L);
+
+                ReflectionTestUtils.setField(transacaoService, "tamanhoPaginaPadrao", 2);
+                ReflectionTestUtils.setField(transacaoService, "tamanhoPaginaMaximo", 10);
+                ReflectionTestUtils.setField(transacaoService, "tamanhoLoteMaximo", 10);
+        }
+
+        private void categoriasDoProprietario(Categoria... categorias) {
+                Map<Long, CategoriaResumoDTO> porId = new HashMap<>();
+                for (Categoria categoria : categorias) {
+                        porId.put(categoria.getId(), new CategoriaResumoDTO(categoria.getId(), categoria.getNome()));
+                }
+                when(categoriaService.categoriasPorId(usuarioProprietario)).thenReturn(porId);
+        }
+
+        private void estadoDoProprietario() {
+                when(transacaoRepository.findEstado(transacaoProprietario.getId(), usuarioProprietario))
+                                .thenReturn(Optional.of(new TransacaoEstadoDTO(transacaoProprietario.getId(),
+                                                transacaoProprietario.getDescricao(), transacaoProprietario.getValor(),
+                                                transacaoProprietario.getData(), transacaoProprietario.getTipo(),
+                                                categoriaProprietario.getId())));
         }
 
         @Test
         void criarTransacaoComSucesso() {
-                when(categoriaRepository.findById(categoriaProprietario.getId()))
-                                .thenReturn(Optional.of(categoriaProprietario));
+                categoriasDoProprietario(categoriaProprietario);
 
                 when(transacaoRepository.save(any(Transacao.class)))
                                 .thenReturn(transacaoProprietario);
@@ -85,8 +129,9 @@ class TransacaoServiceTest {
         @Test
         void criarTransacaoFalhaSeCategoriaNaoEncontrada() {
 
-                when(categoriaRepository.findById(categoriaProprietario.getId()))
-                                .thenReturn(Optional.empty());
+                categoriasDoProprietario();
+                when(categoriaRepository.existsById(categoriaProprietario.getId()))
+                                .thenReturn(false);
 
                 assertThrows(ResourceNotFoundException.class, () -> {
                         transacaoService.criar(transacaoProprietario, usuarioProprietario);
@@ -100,8 +145,9 @@ class TransacaoServiceTest {
                 Categoria categoriaInvasora = new Categoria(20L, "Invasão", usuarioInvasor);
                 transacaoProprietario.setCategoria(categoriaInvasora);
 
-                when(categoriaRepository.findById(categoriaInvasora.getId()))
-                                .thenReturn(Optional.of(categoriaInvasora));
+                categoriasDoProprietario(categoriaProprietario);
+                when(categoriaRepository.existsById(categoriaInvasora.getId()))
+                                .thenReturn(true);
 
                 assertThrows(ResponseStatusException.class, () -> {
                         transacaoService.criar(transacaoProprietario, usuarioProprietario);
@@ -113,11 +159,11 @@ class TransacaoServiceTest {
         @Test
         void atualizarTransacaoFalhaSeNovaCategoriaNaoEncontrada() {
 
-                when(transacaoRepository.findById(transacaoProprietario.getId()))
-                                .thenReturn(Optional.of(transacaoProprietario));
+                estadoDoProprietario();
 
-                when(categoriaRepository.findById(anyLong()))
-                                .thenReturn(Optional.empty());
+                categoriasDoProprietario(categoriaProprietario);
+                when(categoriaRepository.existsById(anyLong()))
+                                .thenReturn(false);
 
                 Categoria categoriaNaoExistente = new Categoria();
                 categoriaNaoExistente.setId(999L);
@@ -130,15 +176,17 @@ class TransacaoServiceTest {
                                         usuarioProprietario);
                 });
 
-                verify(transacaoRepository, never()).save(any(Transacao.class));
+                verify(transacaoRepository, never()).atualizar(anyLong(), any(), any(), any(), any(), any(), any(),
+                                anyLong());
         }
 
         @Test
         void atualizarTransacaoComSucesso() {
-                when(transacaoRepository.findById(transacaoProprietario.getId()))
-                                .thenReturn(Optional.of(transacaoProprietario));
-                when(transacaoRepository.save(any(Transacao.class)))
-                                .thenReturn(transacaoProprietario);
+                estadoDoProprietario();
+                categoriasDoProprietario(categoriaProprietario);
+                when(transacaoRepository.atualizar(eq(transacaoProprietario.getId()), eq(usuarioProprietario), any(),
+                                any(), any(), any(), any(), anyLong()))
+                                .thenReturn(1);
 
                 Transacao detalhesAtualizados = new Transacao();
                 detalhesAtualizados.setDescricao("Descrição Atualizada");
@@ -150,6 +198,8 @@ class TransacaoServiceTest {
 
                 assertEquals("Descrição Atualizada", resultado.getDescricao());
                 assertEquals(new BigDecimal("1500.00"), resultado.getValor());
+                verify(transacaoRepository, never()).findById(anyLong());
+                verify(transacaoRepository, never()).save(any(Transacao.class));
         }
 
         @Test
@@ -157,14 +207,13 @@ class TransacaoServiceTest {
 
                 Categoria novaCategoriaProprietario = new Categoria(50L, "Viagem", usuarioProprietario);
 
-                when(transacaoRepository.findById(transacaoProprietario.getId()))
-                                .thenReturn(Optional.of(transacaoProprietario));
+                estadoDoProprietario();
 
-                when(categoriaRepository.findById(novaCategoriaProprietario.getId()))
-                                .thenReturn(Optional.of(novaCategoriaProprietario));
+                categoriasDoProprietario(categoriaProprietario, novaCategoriaProprietario);
 
-                when(transacaoRepository.save(any(Transacao.class)))
-                                .thenAnswer(invocation -> invocation.getArgument(0));
+                when(transacaoRepository.atualizar(eq(transacaoProprietario.getId()), eq(usuarioProprietario), any(),
+                                any(), any(), any(), eq(novaCategoriaProprietario), anyLong()))
+                                .thenReturn(1);
 
                 Transacao detalhesAtualizados = new Transacao();
                 detalhesAtualizados.setCategoria(novaCategoriaProprietario);
@@ -178,13 +227,16 @@ class TransacaoServiceTest {
                 assertEquals(novaCategoriaProprietario.getId(), resultado.getCategoria().getId());
                 assertEquals("Viagem para X", resultado.getDescricao());
 
-                verify(transacaoRepository, times(1)).save(any(Transacao.class));
+                verify(transacaoRepository, times(1)).atualizar(anyLong(), any(), any(), any(), any(), any(), any(),
+                                anyLong());
         }
 
         @Test
         void atualizarTransacaoFalhaSeNaoPertenceAoUsuario() {
-                when(transacaoRepository.findById(transacaoProprietario.getId()))
-                                .thenReturn(Optional.of(transacaoProprietario));
+                when(transacaoRepository.findEstado(transacaoProprietario.getId(), usuarioInvasor))
+                                .thenReturn(Optional.empty());
+                when(transacaoRepository.existsById(transacaoProprietario.getId()))
+                                .thenReturn(true);
 
                 Transacao detalhesAtualizados = new Transacao();
 
@@ -192,122 +244,219 @@ class TransacaoServiceTest {
                         transacaoService.atualizar(transacaoProprietario.getId(), detalhesAtualizados, usuarioInvasor);
                 }, "Deve lançar 403 Forbidden");
 
-                verify(transacaoRepository, never()).save(any(Transacao.class));
+                verify(transacaoRepository, never()).atualizar(anyLong(), any(), any(), any(), any(), any(), any(),
+                                anyLong());
         }
 
         @Test
         void deletarTransacaoComSucesso() {
-                when(transacaoRepository.findById(transacaoProprietario.getId()))
-                                .thenReturn(Optional.of(transacaoProprietario));
+                estadoDoProprietario();
+                when(transacaoRepository.excluir(transacaoProprietario.getId(), usuarioProprietario))
+                                .thenReturn(1);
 
                 transacaoService.deletar(transacaoProprietario.getId(), usuarioProprietario);
 
-                verify(transacaoRepository, times(1)).delete(transacaoProprietario);
+                verify(transacaoRepository, times(1)).excluir(transacaoProprietario.getId(), usuarioProprietario);
+                verify(transacaoRepository, never()).findById(anyLong());
         }
 
         @Test
         void deletarTransacaoFalhaSeNaoPertenceAoUsuario() {
-                when(transacaoRepository.findById(transacaoProprietario.getId()))
-                                .thenReturn(Optional.of(transacaoProprietario));
+                when(transacaoRepository.findEstado(transacaoProprietario.getId(), usuarioInvasor))
+                                .thenReturn(Optional.empty());
+                when(transacaoRepository.existsById(transacaoProprietario.getId()))
+                                .thenReturn(true);
 
                 assertThrows(ResponseStatusException.class, () -> {
                         transacaoService.deletar(transacaoProprietario.getId(), usuarioInvasor);
                 }, "Deve lançar 403 Forbidden");
 
-                verify(transacaoRepository, never()).delete(any(Transacao.class));
+                verify(transacaoRepository, never()).excluir(anyLong(), any());
         }
 
         @Test
         void deletarTransacaoFalhaSeNaoEncontrada() {
-                when(transacaoRepository.findById(anyLong()))
+                when(transacaoRepository.findEstado(anyLong(), any()))
                                 .thenReturn(Optional.empty());
+                when(transacaoRepository.existsById(anyLong()))
+                                .thenReturn(false);
 
                 assertThrows(ResourceNotFoundException.class, () -> {
                         transacaoService.deletar(999L, usuarioProprietario);
                 });
 
-                verify(transacaoRepository, never()).delete(any(Transacao.class));
+                verify(transacaoRepository, never()).excluir(anyLong(), any());
+        }
+
+        @Test
+        void deletarTransacaoFalhaSeRemovidaConcorrentemente() {
+                estadoDoProprietario();
+                when(transacaoRepository.excluir(transacaoProprietario.getId(), usuarioProprietario))
+                                .thenReturn(0);
+
+                assertThrows(ResourceNotFoundException.class, () -> {
+                        transacaoService.deletar(transacaoProprietario.getId(), usuarioProprietario);
+                });
+
+                verify(saldoService, never()).registrarExclusao(any());
         }
 
         @Test
         void listarPorUsuarioDeveRetornarListaDeTransacoes() {
 
-                when(transacaoRepository.findByUser(any(User.class)))
-                                .thenReturn(List.of(transacaoProprietario));
+                when(transacaoRepository.findResumoByUser(any(User.class)))
+                                .thenReturn(List.of(TransacaoResumoDTO.de(transacaoProprietario)));
 
-                List<Transacao> resultado = transacaoService.listarPorUsuario(usuarioProprietario);
+                List<TransacaoResumoDTO> resultado = transacaoService.listarPorUsuario(usuarioProprietario);
 
                 assertFalse(resultado.isEmpty());
                 assertEquals(1, resultado.size());
+                assertEquals(categoriaProprietario.getNome(), resultado.get(0).categoriaNome());
 
-                verify(transacaoRepository, times(1)).findByUser(usuarioProprietario);
+                verify(transacaoRepository, times(1)).findResumoByUser(usuarioProprietario);
+                verify(transacaoRepository, never()).findByUser(any());
         }
 
         @Test
         void listarPorUsuarioDeveRetornarListaVaziaSeNaoHouverTransacoes() {
 
-                when(transacaoRepository.findByUser(any(User.class)))
+                when(transacaoRepository.findResumoByUser(any(User.class)))
                                 .thenReturn(Collections.emptyList());
 
-                List<Transacao> resultado = transacaoService.listarPorUsuario(usuarioProprietario);
+                List<TransacaoResumoDTO> resultado = transacaoService.listarPorUsuario(usuarioProprietario);
 
                 assertTrue(resultado.isEmpty());
-                verify(transacaoRepository, times(1)).findByUser(usuarioProprietario);
+                verify(transacaoRepository, times(1)).findResumoByUser(usuarioProprietario);
         }
 
         @Test
-        void getSaldoPorUsuarioDeveRetornarZeroQuandoNaoHaTransacoes() {
-                // 1. PREPARAÇÃO: Simular Optional.empty() para RECEITAS
-                when(transacaoRepository.sumValorByTipoAndUser(TipoTransacao.RECEITA, usuarioProprietario))
-                                .thenReturn(Optional.empty());
-
-                // 2. PREPARAÇÃO: Simular Optional.empty() para DESPESAS
-                when(transacaoRepository.sumValorByTipoAndUser(TipoTransacao.DESPESA, usuarioProprietario))
-                                .thenReturn(Optional.empty());
+        void getSaldoPorUsuarioDeveLerOSaldoMaterializado() {
+                SaldoDTO saldo = new SaldoDTO(new BigDecimal("10.00"), new BigDecimal("4.00"), new BigDecimal("6.00"));
+                when(saldoService.consultar(usuarioProprietario)).thenReturn(saldo);
 
-                // 3. AÇÃO
                 SaldoDTO resultado = transacaoService.getSaldoPorUsuario(usuarioProprietario);
 
-                // 4. VERIFICAÇÃO
-                BigDecimal zero = BigDecimal.ZERO;
+                assertSame(saldo, resultado);
+                verify(transacaoRepository, never()).calcularSaldo(any());
+        }
 
-                // Verifica se todos os campos retornaram zero (o orElse(BigDecimal.ZERO) deve
-                // funcionar)
-                assertEquals(zero, resultado.getReceitas());
-                assertEquals(zero, resultado.getDespesas());
-                assertEquals(zero, resultado.getSaldoTotal());
+        @Test
+        void escritasAtualizamOSaldoMaterializado() {
+                categoriasDoProprietario(categoriaProprietario);
+                when(transacaoRepository.save(any(Transacao.class)))
+                                .thenAnswer(invocation -> invocation.getArgument(0));
+
+                transacaoService.criar(transacaoProprietario, usuarioProprietario);
+                verify(saldoService, times(1)).registrarInclusao(transacaoProprietario);
+                verify(resumoMensalService, times(1)).registrarInclusao(transacaoProprietario);
+
+                estadoDoProprietario();
+                when(transacaoRepository.atualizar(anyLong(), any(), any(), any(), any(), any(), any(),
+                                anyLong()))
+                                .thenReturn(1);
+                Transacao detalhes = new Transacao("Teste Aluguel", new BigDecimal("1200.00"), LocalDate.now(),
+                                TipoTransacao.DESPESA, null, categoriaProprietario);
+
+                Transacao atualizada = transacaoService.atualizar(transacaoProprietario.getId(), detalhes,
+                                usuarioProprietario);
+                verify(saldoService, times(1)).registrarAlteracao(usuarioProprietario, TipoTransacao.DESPESA,
+                                new BigDecimal("1000.00"), TipoTransacao.DESPESA, new BigDecimal("1200.00"));
+
+                verify(resumoMensalService, times(1)).registrarAlteracao(
+                                argThat(anterior -> new BigDecimal("1000.00").equals(anterior.getValor())),
+                                eq(atualizada));
+
+                when(transacaoRepository.excluir(transacaoProprietario.getId(), usuarioProprietario))
+                                .thenReturn(1);
+                transacaoService.deletar(transacaoProprietario.getId(), usuarioProprietario);
+                verify(saldoService, times(1)).registrarExclusao(
+                                argThat(excluida -> transacaoProprietario.getId().equals(excluida.getId())));
+                verify(resumoMensalService, times(1)).registrarExclusao(
+                                argThat(excluida -> transacaoProprietario.getId().equals(excluida.getId())));
+
+                // Cada escrita recebe uma versão; a exclusão deixa um registro para a sincronização
+                verify(versaoService, times(3)).incrementar(usuarioProprietario);
+                verify(versaoService, times(1)).registrarExclusao(eq(usuarioProprietario), eq(TipoEntidade.TRANSACAO),
+                                eq(transacaoProprietario.getId()), anyLong());
         }
 
         @Test
-        void getSaldoPorUsuarioDeveCalcularSaldoCorretamente() {
-                // 1. PREPARAÇÃO: Simular a soma das RECEITAS
-                BigDecimal receitas = new BigDecimal("7000.00");
-                when(transacaoRepository.sumValorByTipoAndUser(TipoTransacao.RECEITA, usuarioProprietario))
-                                .thenReturn(Optional.of(receitas));
-
-                // 2. PREPARAÇÃO: Simular a soma das DESPESAS
-                BigDecimal despesas = new BigDecimal("2500.50");
-                when(transacaoRepository.sumValorByTipoAndUser(TipoTransacao.DESPESA, usuarioProprietario))
-                                .thenReturn(Optional.of(despesas));
-
-                // 3. AÇÃO
-                SaldoDTO resultado = transacaoService.getSaldoPorUsuario(usuarioProprietario);
+        void listarPaginaDeveRetornarCursorQuandoHaMaisItens() {
+                Transacao segunda = new Transacao("Mercado", new BigDecimal("50.00"), LocalDate.now(),
+                                TipoTransacao.DESPESA, usuarioProprietario, categoriaProprietario);
+                segunda.setId(101L);
+                Transacao terceira = new Transacao("Salário", new BigDecimal("5000.00"), LocalDate.now(),
+                                TipoTransacao.RECEITA, usuarioProprietario, categoriaProprietario);
+                terceira.setId(102L);
+
+                when(transacaoRepository.findPrimeiraPagina(eq(usuarioProprietario), any(Limit.class)))
+                                .thenReturn(List.of(TransacaoResumoDTO.de(transacaoProprietario),
+                                                TransacaoResumoDTO.de(segunda), TransacaoResumoDTO.de(terceira)));
+
+                PaginaTransacoesDTO pagina = transacaoService.listarPagina(usuarioProprietario, null, null);
+
+                assertEquals(2, pagina.itens().size());
+                assertEquals(new CursorTransacao(segunda.getData(), segunda.getId()),
+                                CursorTransacao.decodificar(pagina.next()));
+        }
+
+        @Test
+        void listarPaginaDeveContinuarAPartirDoCursor() {
+                String cursor = new CursorTransacao(transacaoProprietario.getData(), 100L).codificar();
 
-                // 4. VERIFICAÇÃO
-                BigDecimal saldoEsperado = new BigDecimal("4499.50"); // 7000.00 - 2500.50
+                when(transacaoRepository.findPaginaApos(eq(usuarioProprietario), eq(transacaoProprietario.getData()),
+                                eq(100L), any(Limit.class)))
+                                .thenReturn(Collections.emptyList());
 
-                // Verifica se os valores individuais estão corretos
-                assertEquals(receitas.setScale(2, RoundingMode.HALF_UP),
-                                resultado.getReceitas().setScale(2, RoundingMode.HALF_UP));
-                assertEquals(despesas.setScale(2, RoundingMode.HALF_UP),
-                                resultado.getDespesas().setScale(2, RoundingMode.HALF_UP));
+                PaginaTransacoesDTO pagina = transacaoService.listarPagina(usuarioProprietario, cursor, null);
 
-                // Verifica se o saldo final está correto (usando compareTo para BigDecimals)
-                assertEquals(0, saldoEsperado.compareTo(resultado.getSaldoTotal()));
+                assertTrue(pagina.itens().isEmpty());
+                assertNull(pagina.next());
+        }
 
-                // Garante que os métodos do repositório foram chamados
-                verify(transacaoRepository, times(1)).sumValorByTipoAndUser(TipoTransacao.RECEITA, usuarioProprietario);
-                verify(transacaoRepository, times(1)).sumValorByTipoAndUser(TipoTransacao.DESPESA, usuarioProprietario);
+        @Test
+        void listarPaginaFalhaComTamanhoOuCursorInvalidos() {
+                assertThrows(IllegalArgumentException.class,
+                                () -> transacaoService.listarPagina(usuarioProprietario, null, 11));
+                assertThrows(IllegalArgumentException.class,
+                                () -> transacaoService.listarPagina(usuarioProprietario, "não-é-cursor", null));
+        }
+
+        @Test
+        void criarEmLoteValidaCategoriasPeloCacheDoUsuario() {
+                Categoria categoriaInvasora = new Categoria(20L, "Invasão", usuarioInvasor);
+                Categoria categoriaInexistente = new Categoria();
+                categoriaInexistente.setId(999L);
+
+                Transacao valida = new Transacao("Mercado", new BigDecimal("80.00"), LocalDate.now(),
+                                TipoTransacao.DESPESA, null, categoriaProprietario);
+                Transacao invasora = new Transacao("Invasão", new BigDecimal("1.00"), LocalDate.now(),
+                                TipoTransacao.DESPESA, null, categoriaInvasora);
+                Transacao inexistente = new Transacao("Sumiu", new BigDecimal("2.00"), LocalDate.now(),
+                                TipoTransacao.DESPESA, null, categoriaInexistente);
+
+                categoriasDoProprietario(categoriaProprietario);
+                when(categoriaRepository.existsById(categoriaInvasora.getId())).thenReturn(true);
+                when(categoriaRepository.existsById(categoriaInexistente.getId())).thenReturn(false);
+                when(transacaoRepository.saveAll(anyIterable()))
+                                .thenAnswer(invocation -> {
+                                        List<Transacao> salvas = invocation.getArgument(0);
+                                        salvas.forEach(t -> t.setId(500L));
+                                        return salvas;
+                                });
+
+                List<ResultadoLoteDTO> resultados = transacaoService.criarEmLote(
+                                List.of(valida, invasora, inexistente), usuarioProprietario);
+
+                assertEquals(201, resultados.get(0).status());
+                assertEquals(500L, resultados.get(0).id());
+                assertEquals(403, resultados.get(1).status());
+                assertEquals(404, resultados.get(2).status());
+                assertEquals(usuarioProprietario, valida.getUser());
+
+                verify(categoriaService, times(1)).categoriasPorId(usuarioProprietario);
+                verify(categoriaRepository, never()).findById(anyLong());
+                verify(categoriaRepository, never()).existsById(categoriaProprietario.getId());
         }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package com.example.financas.service;
+
+import com.example.financas.model.User;
+import com.example.financas.model.VersaoUsuario;
+import com.example.financas.repository.ExclusaoRepository;
+import com.example.financas.repository.VersaoUsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VersaoServiceTest {
+        @Mock
+        private VersaoUsuarioRepository versaoUsuarioRepository;
+
+        @Mock
+        private ExclusaoRepository exclusaoRepository;
+
+        @InjectMocks
+        private VersaoService versaoService;
+
+        private User usuario;
+
+        @BeforeEach
+        void setUp() {
+                usuario = new User();
+                usuario.setId(UUID.randomUUID());
+        }
+
+        @Test
+        void incrementarDeveCriarALinhaQuandoNaoExiste() {
+                when(versaoUsuarioRepository.avancar(usuario.getId(), 1)).thenReturn(0);
+                when(versaoUsuarioRepository.buscarVersao(usuario.getId())).thenReturn(Optional.empty());
+                long semLinha = versaoService.consultar(usuario);
+
+                long versao = versaoService.incrementar(usuario);
+
+                assertTrue(versao > semLinha);
+                verify(versaoUsuarioRepository).save(argThat(v -> v.getVersao() == versao));
+        }
+
+        @Test
+        void incrementarNaoRegravaALinhaExistente() {
+                when(versaoUsuarioRepository.avancar(usuario.getId(), 1)).thenReturn(1);
+                when(versaoUsuarioRepository.buscarVersao(usuario.getId())).thenReturn(Optional.of(42L));
+
+                assertEquals(42L, versaoService.incrementar(usuario));
+                verify(versaoUsuarioRepository, never()).save(any(VersaoUsuario.class));
+        }
+
+        @Test
+        void reservarDeveRetornarAUltimaVersaoDoIntervalo() {
+                when(versaoUsuarioRepository.avancar(usuario.getId(), 5)).thenReturn(1);
+                when(versaoUsuarioRepository.buscarVersao(usuario.getId())).thenReturn(Optional.of(105L));
+
+                assertEquals(105L, versaoService.reservar(usuario, 5));
+                assertThrows(IllegalArgumentException.class, () -> versaoService.reservar(usuario, 0));
+        }
+
+        @Test
+        void consultarDeveLerOBancoACadaChamada() {
+                when(versaoUsuarioRepository.buscarVersao(usuario.getId()))
+                                .thenReturn(Optional.of(10L), Optional.of(11L));
+
+                assertEquals(10L, versaoService.consultar(usuario));
+                assertEquals(11L, versaoService.consultar(usuario));
+                verify(versaoUsuarioRepository, never()).findById(any());
+        }
+
+        @Test
+        void etagDeveSerForte() {
+                assertEquals("\"42\"", VersaoService.etag(42));
+        }
+}